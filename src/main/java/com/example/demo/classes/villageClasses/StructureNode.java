@@ -1,7 +1,10 @@
 package com.example.demo.classes.villageClasses;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <h1>StructureNode</h1>
@@ -15,13 +18,35 @@ import java.util.List;
  * It represents a building or landmark within the village and stores information about its
  * location, appearance, and connections to other structures.
  * </p>
+ * <p>
+ * Every change to the connections stamps the node with a new, globally increasing version, so
+ * cached pathfinding results can tell whether the graph changed since they were computed. The
+ * new stamp is also pushed to the version of every village interior holding the node, so a
+ * village can read its version in constant time instead of asking each of its nodes.
+ * Connections can therefore only be changed through the methods of this class:
+ * {@link #getConnections()} returns a read-only view.
+ * </p>
+ * <p>
+ * Each node also indexes the roads that lead to it, kept in step by the same methods, so the
+ * predecessors of a node can be listed in time linear in its in-degree instead of by scanning
+ * every road of the village.
+ * </p>
  */
 public class StructureNode {
+    /**
+     * Source of structural version stamps, shared by all nodes and villages.
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
     private int id;
     private int xCoordinate;
     private int yCoordinate;
     private String sprite;
     private List<StructureRoad> connections = new ArrayList<>();
+    private final List<StructureRoad> incoming = new ArrayList<>();
+    private volatile long version = nextVersion();
+    // Versions of the village interiors that hold this node, raised with every new stamp.
+    private final CopyOnWriteArrayList<AtomicLong> holders = new CopyOnWriteArrayList<>();
 
     /**
      * <h1>StructureNode Constructor</h1>
@@ -55,9 +80,61 @@ public class StructureNode {
      *
      * @param toStructure The structure node to connect to.
      * @param weight      The weight of the connection (e.g., distance, cost).
+     * @return The new structure road, for callers that also keep a list of the village's roads.
+     */
+    public StructureRoad connectTo(StructureNode toStructure, int weight) {
+        StructureRoad road = new StructureRoad(this, toStructure, weight);
+        connections.add(road);
+        toStructure.incoming.add(road);
+        restamp();
+        return road;
+    }
+
+    /**
+     * Gets the structural version of this node. It increases whenever the connections change.
+     *
+     * @return The version stamp of this node's connections.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Draws a new structural version stamp, greater than every stamp handed out before.
+     *
+     * @return The new version stamp.
+     */
+    static long nextVersion() {
+        return VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Registers the version of a holder of this node, to be raised whenever the connections change.
+     *
+     * @param holderVersion The version of the holder.
+     */
+    void addHolder(AtomicLong holderVersion) {
+        holders.addIfAbsent(holderVersion);
+    }
+
+    /**
+     * Unregisters the version of a holder that no longer holds this node.
+     *
+     * @param holderVersion The version of the holder.
+     */
+    void removeHolder(AtomicLong holderVersion) {
+        holders.remove(holderVersion);
+    }
+
+    /**
+     * Stamps the node with a new version and raises the versions of its holders to it.
      */
-    public void connectTo(StructureNode toStructure, int weight) {
-        connections.add(new StructureRoad(this, toStructure, weight));
+    private void restamp() {
+        long stamp = nextVersion();
+        version = stamp;
+        for (AtomicLong holderVersion : holders) {
+            holderVersion.accumulateAndGet(stamp, Math::max);
+        }
     }
 
     /**
@@ -135,25 +212,51 @@ public class StructureNode {
     /**
      * Gets the list of connections (structure roads) from this structure node.
      *
-     * @return The list of connections from this structure node.
+     * @return The list of connections from this structure node, as a read-only view.
      */
     public List<StructureRoad> getConnections() {
-        return connections;
+        return Collections.unmodifiableList(connections);
     }
 
     /**
      * Sets the list of connections (structure roads) from this structure node.
+     * The list is copied, so later changes to it do not bypass the incoming index.
      *
      * @param connections The new list of connections from this structure node.
      */
     public void setConnections(List<StructureRoad> connections) {
-        this.connections = connections;
+        unindex(this.connections);
+        this.connections = new ArrayList<>(connections);
+        for (StructureRoad road : this.connections) {
+            road.getToStructure().incoming.add(road);
+        }
+        restamp();
     }
 
     /**
      * Clears all connections from this structure node.
      */
     public void clearConnections() {
+        unindex(this.connections);
         this.connections.clear();
+        restamp();
+    }
+
+    /**
+     * Gets the roads that lead to this structure node, from the connections of any node.
+     *
+     * @return The incoming roads, as a read-only view.
+     */
+    public List<StructureRoad> getIncomingConnections() {
+        return Collections.unmodifiableList(incoming);
+    }
+
+    /**
+     * Removes roads from the incoming index of the nodes they lead to.
+     */
+    private static void unindex(List<StructureRoad> roads) {
+        for (StructureRoad road : roads) {
+            road.getToStructure().incoming.remove(road);
+        }
     }
 }
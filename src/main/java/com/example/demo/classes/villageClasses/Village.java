@@ -1,11 +1,22 @@
 package com.example.demo.classes.villageClasses;
 
+import com.example.demo.mechanics.layout.ConnectivityOverlay;
+import com.example.demo.mechanics.layout.ForceLayout;
 import com.example.demo.mechanics.pathfinding.BellmanFord;
+import com.example.demo.mechanics.pathfinding.BlockedFloydWarshall;
+import com.example.demo.mechanics.pathfinding.PathfindingCache;
+import com.example.demo.mechanics.pathfinding.StructureGraphSnapshot;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 /**
@@ -20,6 +31,17 @@ import java.util.stream.Collectors;
  * characteristics and resources. It contains methods for managing resources, structures, and
  * connections between structures.
  * </p>
+ * <p>
+ * Pathfinding results for the structure graph are cached per village and tagged with
+ * {@link #getStructureVersion()}, so they are reused until the structures or their connections change.
+ * </p>
+ * <p>
+ * The interior (structures and their connections) can be generated lazily: a village given an
+ * interior generator and seed with {@link #setInteriorGenerator} builds its interior on first
+ * access, and {@link #evictInterior()} drops it again to be rebuilt, identically, on the next access.
+ * The structure list, graph and roads are published together as one holder behind a single
+ * volatile reference, so a reader never sees a mix of an old and a new interior.
+ * </p>
  */
 public class Village {
 
@@ -27,9 +49,14 @@ public class Village {
     private int id;
     private int population;
     private int structures; // Just the number of structures
-    private List<StructureNode> structureGraph = new ArrayList<>(); // (For Bellman-Ford checking)
-    private List<StructureNode> structuresList = new ArrayList<>(); // (Actual structures inside village)
-    private List<StructureRoad> structureRoads = new ArrayList<>(); // (Connections between structures)
+    private volatile Interior interior = new Interior(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    private final PathfindingCache pathCache = new PathfindingCache();
+
+    // Lazy interior: while the interior is null, the first access runs the generator with a fresh stream of the seed.
+    // The generator's setter calls fill 'building' under the lock, and the finished interior is published at once.
+    private BiConsumer<Village, RandomGenerator> interiorGenerator;
+    private long interiorSeed;
+    private Interior building;
 
     private int xCoordinate;
     private int yCoordinate;
@@ -59,6 +86,25 @@ public class Village {
      * @param type       The type of the village (e.g., COMMON, TIMBER, ARMOR, COMPOSITE).
      */
     public Village(String name, int id, int structures, int x, int y, String sprite, VillageType type) {
+        this(name, id, structures, x, y, sprite, type, ThreadLocalRandom.current());
+    }
+
+    /**
+     * <h1>Village Constructor</h1>
+     * <p>
+     * Constructs a new Village object, rolling its starting resources with the given random number generator.
+     * </p>
+     *
+     * @param name       The name of the village.
+     * @param id         The ID of the village.
+     * @param structures The number of structures in the village.
+     * @param x          The x-coordinate of the village on the game map.
+     * @param y          The y-coordinate of the village on the game map.
+     * @param sprite     The sprite representing the village.
+     * @param type       The type of the village (e.g., COMMON, TIMBER, ARMOR, COMPOSITE).
+     * @param rand       The random number generator for the starting resources.
+     */
+    public Village(String name, int id, int structures, int x, int y, String sprite, VillageType type, RandomGenerator rand) {
         this.name = name;
         this.id = id;
         this.structures = structures;
@@ -66,7 +112,7 @@ public class Village {
         this.yCoordinate = y;
         this.sprite = sprite;
         this.type = type;
-        assignResourcesByType(type);
+        assignResourcesByType(type, rand);
         this.population = this.villagers + this.knights;
     }
 
@@ -81,9 +127,9 @@ public class Village {
      * </p>
      *
      * @param type The type of the village.
+     * @param rand The random number generator.
      */
-    private void assignResourcesByType(VillageType type) {
-        Random rand = new Random();
+    private void assignResourcesByType(VillageType type, RandomGenerator rand) {
 
         switch (type) {
             case COMMON:
@@ -282,7 +328,7 @@ public class Village {
      * @return The structure graph of the village.
      */
     public List<StructureNode> getStructureGraph() {
-        return structureGraph;
+        return interior().structureGraph;
     }
 
     /**
@@ -291,7 +337,7 @@ public class Village {
      * @return The list of structures in the village.
      */
     public List<StructureNode> getStructuresList() {
-        return structuresList;
+        return interior().structuresList;
     }
 
     /**
@@ -300,7 +346,7 @@ public class Village {
      * @return The list of structure roads in the village.
      */
     public List<StructureRoad> getStructureRoads() {
-        return structureRoads;
+        return interior().structureRoads;
     }
 
     /**
@@ -321,7 +367,194 @@ public class Village {
      * @return True if the village has a negative cycle, false otherwise.
      */
     public boolean hasNegativeCycle() {
-        return BellmanFord.hasNegativeCycle(this.structureGraph);
+        return !findNegativeCycle().isEmpty();
+    }
+
+    /**
+     * Finds a negative cycle in the village's structure graph.
+     *
+     * @return The structures on the cycle in road order, or an empty list if there is none.
+     */
+    public List<StructureNode> findNegativeCycle() {
+        Interior current = interior();
+        return pathCache.get("negativeCycle", current.version(), () -> Collections.unmodifiableList(
+                BellmanFord.findNegativeCycle(StructureGraphSnapshot.of(current.structureGraph))));
+    }
+
+    /**
+     * Gets a CSR snapshot of the structures in the village and their connections.
+     * The snapshot is built once and reused until the structure graph changes.
+     *
+     * @return The structure graph snapshot of the village.
+     */
+    public StructureGraphSnapshot getGraphSnapshot() {
+        Interior current = interior();
+        return pathCache.get("snapshot", current.version(), () -> StructureGraphSnapshot.of(current.structuresList));
+    }
+
+    /**
+     * Gets the all-pairs shortest distances between the structures of the village.
+     * They are computed once and reused until the structure graph changes.
+     *
+     * @return The all-pairs distance matrix, indexed like {@link #getGraphSnapshot()}.
+     */
+    public BlockedFloydWarshall.Result getAllPairsDistances() {
+        long version = getStructureVersion();
+        return pathCache.get("allPairs", version, () -> BlockedFloydWarshall.compute(getGraphSnapshot()));
+    }
+
+    /**
+     * Gets the positions the village page draws the structures at.
+     * They are computed once and reused until the structure graph changes.
+     *
+     * @return The force-directed layout, indexed like {@link #getGraphSnapshot()}.
+     */
+    public ForceLayout.Result getLayout() {
+        long version = getStructureVersion();
+        return pathCache.get("layout", version, () -> ForceLayout.compute(getGraphSnapshot()));
+    }
+
+    /**
+     * Gets the links the village page draws between parts of the village that no road connects.
+     * They are computed once and reused until the structure graph changes; the roads themselves
+     * are never changed.
+     *
+     * @return The connectivity overlay, indexed like {@link #getGraphSnapshot()}.
+     */
+    public ConnectivityOverlay getConnectivityOverlay() {
+        long version = getStructureVersion();
+        return pathCache.get("overlay", version, () -> ConnectivityOverlay.compute(getGraphSnapshot()));
+    }
+
+    /**
+     * <h1>setInteriorGenerator Method</h1>
+     * <p>
+     * Makes the interior of the village lazy. The current interior is dropped, and the first
+     * access to the structures, roads, graph or anything derived from them calls
+     * {@code generator} with a {@link SplittableRandom} seeded with {@code seed} to build it.
+     * </p>
+     * <p>
+     * Initialization is double-checked: the interior reference is volatile, and only the first
+     * thread to find it empty generates the interior, under the village's lock. The generator's
+     * calls to the setters collect the new interior, which is published only once it is complete.
+     * </p>
+     *
+     * @param seed      The seed of the interior's random stream.
+     * @param generator Fills in the structures of the given village from the given random number generator.
+     */
+    public void setInteriorGenerator(long seed, BiConsumer<Village, RandomGenerator> generator) {
+        synchronized (this) {
+            this.interiorSeed = seed;
+            this.interiorGenerator = generator;
+            dropInterior();
+        }
+    }
+
+    /**
+     * <h1>evictInterior Method</h1>
+     * <p>
+     * Drops the generated interior of a lazy village to free its memory. The next access
+     * regenerates it from the same seed, so it comes back the same as it was first generated;
+     * changes made to it since then are lost.
+     * </p>
+     *
+     * @return True if a built interior was dropped, false if the village has no interior generator
+     *         or its interior is not built.
+     */
+    public boolean evictInterior() {
+        synchronized (this) {
+            if (interiorGenerator == null || interior == null) {
+                return false;
+            }
+            dropInterior();
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether the interior of the village is currently built.
+     *
+     * @return True if the interior is built (or the village is not lazy), false if it is pending generation.
+     */
+    public boolean isInteriorGenerated() {
+        return interior != null;
+    }
+
+    private void dropInterior() {
+        if (interior != null) {
+            interior.detach();
+        }
+        interior = null;
+        pathCache.clear();
+    }
+
+    /**
+     * Gets the current interior, generating it first if it is pending.
+     */
+    private Interior interior() {
+        Interior current = interior;
+        if (current == null) {
+            synchronized (this) {
+                current = interior;
+                if (current == null && building != null) {
+                    // The generator itself is reading what it has built so far.
+                    return building;
+                }
+                if (current == null) {
+                    building = new Interior(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+                    try {
+                        interiorGenerator.accept(this, new SplittableRandom(interiorSeed));
+                        current = building;
+                    } finally {
+                        building = null;
+                    }
+                    interior = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replaces the interior, or the one being generated; callers hold the village's lock.
+     */
+    private void replaceInterior(Function<Interior, Interior> change) {
+        if (building != null) {
+            Interior old = building;
+            building = change.apply(old);
+            old.detach();
+        } else {
+            Interior old = interior();
+            interior = change.apply(old);
+            old.detach();
+        }
+    }
+
+    /**
+     * Gets the pathfinding result cache of this village.
+     *
+     * @return The pathfinding cache.
+     */
+    public PathfindingCache getPathCache() {
+        return pathCache;
+    }
+
+    /**
+     * <h1>getStructureVersion Method</h1>
+     * <p>
+     * Gets the structural version stamp of the village.
+     * </p>
+     * <p>
+     * The stamp is the newest of the village's own stamp, renewed whenever a structure list is
+     * replaced, and the stamps of all its structure nodes, renewed whenever their connections
+     * change. Stamps come from one increasing counter, so any such change yields a larger value.
+     * The nodes push their new stamps to the village, so reading it takes constant time.
+     * </p>
+     *
+     * @return The structural version stamp.
+     */
+    public long getStructureVersion() {
+        return interior().version();
     }
 
     // Setters
@@ -376,8 +609,8 @@ public class Village {
      *
      * @param structuresList The new list of structures in the village.
      */
-    public void setStructuresList(List<StructureNode> structuresList) {
-        this.structuresList = structuresList;
+    public synchronized void setStructuresList(List<StructureNode> structuresList) {
+        replaceInterior(current -> new Interior(current.structureGraph, structuresList, current.structureRoads));
     }
 
     /**
@@ -385,8 +618,8 @@ public class Village {
      *
      * @param structureRoads The new list of structure roads in the village.
      */
-    public void setStructureRoads(List<StructureRoad> structureRoads) {
-        this.structureRoads = structureRoads;
+    public synchronized void setStructureRoads(List<StructureRoad> structureRoads) {
+        replaceInterior(current -> new Interior(current.structureGraph, current.structuresList, structureRoads));
     }
 
     /**
@@ -394,8 +627,12 @@ public class Village {
      *
      * @param node The structure node to add.
      */
-    public void addStructureNode(StructureNode node) {
-        this.structureGraph.add(node);
+    public synchronized void addStructureNode(StructureNode node) {
+        replaceInterior(current -> {
+            List<StructureNode> structureGraph = new ArrayList<>(current.structureGraph);
+            structureGraph.add(node);
+            return new Interior(structureGraph, current.structuresList, current.structureRoads);
+        });
     }
 
     /**
@@ -403,7 +640,53 @@ public class Village {
      *
      * @param structureGraph The new structure graph of the village.
      */
-    public void setStructureGraph(List<StructureNode> structureGraph) {
-        this.structureGraph = structureGraph;
+    public synchronized void setStructureGraph(List<StructureNode> structureGraph) {
+        replaceInterior(current -> new Interior(structureGraph, current.structuresList, current.structureRoads));
+    }
+
+    /**
+     * <h1>Interior</h1>
+     * <p>
+     * The structure graph, structure list and structure roads of a village, replaced as a whole
+     * whenever one of them is set. Each holder gets a fresh version stamp, which its structure
+     * nodes raise whenever their connections change.
+     * </p>
+     */
+    private static final class Interior {
+        private final List<StructureNode> structureGraph; // (For Bellman-Ford checking)
+        private final List<StructureNode> structuresList; // (Actual structures inside village)
+        private final List<StructureRoad> structureRoads; // (Connections between structures)
+        private final AtomicLong version = new AtomicLong(StructureNode.nextVersion());
+
+        private Interior(List<StructureNode> structureGraph, List<StructureNode> structuresList, List<StructureRoad> structureRoads) {
+            this.structureGraph = structureGraph;
+            this.structuresList = structuresList;
+            this.structureRoads = structureRoads;
+            for (StructureNode node : structuresList) {
+                node.addHolder(version);
+            }
+            for (StructureNode node : structureGraph) {
+                node.addHolder(version);
+            }
+        }
+
+        /**
+         * Gets the newest of this holder's stamp and the stamps of all its structure nodes.
+         */
+        private long version() {
+            return version.get();
+        }
+
+        /**
+         * Stops the structure nodes from raising this holder's version, once it has been replaced.
+         */
+        private void detach() {
+            for (StructureNode node : structuresList) {
+                node.removeHolder(version);
+            }
+            for (StructureNode node : structureGraph) {
+                node.removeHolder(version);
+            }
+        }
     }
 }
@@ -1,11 +1,12 @@
 package com.example.demo.classes.villageClasses;
 
+import com.example.demo.utils.GameUtils;
 import com.example.demo.utils.SpriteLoader;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * <h1>VillageGenerator</h1>
@@ -21,11 +22,6 @@ import java.util.Random;
  */
 public class VillageGenerator {
 
-    /**
-     * Random number generator for generating village layouts.
-     */
-    private static final Random rand = new Random();
-
     /**
      * <h1>generateStructuresForVillage Method</h1>
      * <p>
@@ -49,6 +45,20 @@ public class VillageGenerator {
      * @param village The village to generate structures for.
      */
     public static void generateStructuresForVillage(Village village) {
+        generateStructuresForVillage(village, ThreadLocalRandom.current());
+    }
+
+    /**
+     * <h1>generateStructuresForVillage Method</h1>
+     * <p>
+     * Generates the structures and roads for a given village, drawing every random choice from the
+     * given random number generator, so the same seeded generator always yields the same layout.
+     * </p>
+     *
+     * @param village The village to generate structures for.
+     * @param rand    The random number generator.
+     */
+    public static void generateStructuresForVillage(Village village, RandomGenerator rand) {
         // ========================= Initialize lists to hold structures and roads =========================
         /**
          * A list to hold the structure nodes in the village.
@@ -102,7 +112,7 @@ public class VillageGenerator {
             /**
              * Pick a random sprite for the structure.
              */
-            String sprite = pickRandomStructureSprite(village.getType());
+            String sprite = pickRandomStructureSprite(village.getType(), rand);
             /**
              * Create a new structure node and add it to the list of structures.
              */
@@ -128,17 +138,10 @@ public class VillageGenerator {
              */
             int weight = rand.nextInt(20) - 10;
             /**
-             * Connect the two structure nodes.
+             * Connect the two structure nodes both ways, adding both roads to the list of structure roads.
              */
-            from.connectTo(to, weight);
-            /**
-             * Connect the two structure nodes.
-             */
-            to.connectTo(from, weight);
-            /**
-             * Add the new road to the list of structure roads.
-             */
-            structureRoads.add(new StructureRoad(from, to, weight));
+            structureRoads.add(from.connectTo(to, weight));
+            structureRoads.add(to.connectTo(from, weight));
         }
 
         // ========================= 4. Add random extra connections =========================
@@ -167,17 +170,10 @@ public class VillageGenerator {
                      */
                     int weight = rand.nextInt(20) - 10;
                     /**
-                     * Connect the two structure nodes.
-                     */
-                    from.connectTo(to, weight);
-                    /**
-                     * Connect the two structure nodes.
+                     * Connect the two structure nodes both ways, adding both roads to the list of structure roads.
                      */
-                    to.connectTo(from, weight);
-                    /**
-                     * Add the new road to the list of structure roads.
-                     */
-                    structureRoads.add(new StructureRoad(from, to, weight));
+                    structureRoads.add(from.connectTo(to, weight));
+                    structureRoads.add(to.connectTo(from, weight));
                 }
             }
         }
@@ -198,7 +194,7 @@ public class VillageGenerator {
             /**
              * Shuffle the list.
              */
-            Collections.shuffle(shuffled, rand);
+            GameUtils.shuffle(shuffled, rand);
             /**
              * Get a sublist of nodes to form the cycle.
              */
@@ -229,12 +225,7 @@ public class VillageGenerator {
                 /**
                  * Connect the two structure nodes.
                  */
-                from.connectTo(to, weight);
-
-                /**
-                 * Create a new structure road.
-                 */
-                StructureRoad specialRoad = new StructureRoad(from, to, weight);
+                StructureRoad specialRoad = from.connectTo(to, weight);
 
                 /**
                  * Mark the last road in the cycle as a negative cycle.
@@ -274,11 +265,12 @@ public class VillageGenerator {
      * </p>
      *
      * @param type The type of the village.
+     * @param rand The random number generator.
      * @return A string representing the sprite for the structure.
      */
     // ✅ Updated to accept VillageType
-    private static String pickRandomStructureSprite(VillageType type) {
+    private static String pickRandomStructureSprite(VillageType type, RandomGenerator rand) {
         // ========================= Get a random structure sprite from the SpriteLoader =========================
-        return SpriteLoader.getRandomStructureSprite(type);
+        return SpriteLoader.getRandomStructureSprite(type, rand);
     }
 }
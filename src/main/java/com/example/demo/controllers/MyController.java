@@ -2,54 +2,69 @@ package com.example.demo.controllers;
 
 import com.example.demo.classes.villageClasses.Village;
 import com.example.demo.mechanics.generation.GameMap;
-import com.example.demo.mechanics.generation.GameMapGenerator;
+import com.example.demo.mechanics.generation.WorldPool;
+import com.example.demo.mechanics.generation.WorldRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.example.demo.classes.ResourcesStorage;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+
 @Controller
 @RequestMapping("/")
 public class MyController {
 
-    private final GameMap map;
+    private final WorldRegistry worlds;
+    private final WorldPool worldPool;
+    private final boolean metricsEnabled;
 
-    public MyController(GameMap map) {
-        this.map = map;
+    public MyController(WorldRegistry worlds, WorldPool worldPool,
+                        @Value("${game.worlds.metrics-enabled:false}") boolean metricsEnabled) {
+        this.worlds = worlds;
+        this.worldPool = worldPool;
+        this.metricsEnabled = metricsEnabled;
     }
 
     @GetMapping("/hello")
-    public String showMap(Model model, @RequestParam(required = false) ResourcesStorage resources) {
-        // Check if the map is empty.
-        if (map.getVillages() == null || map.getVillages().isEmpty()) {
-            // If the map is empty, generate a new map.
-            GameMap fresh = GameMapGenerator.generateMap(); // No Model param
-            map.setVillages(fresh.getVillages()); // sets the villages on the map.
-            map.setRoads(fresh.getRoads()); // sets the roads on the map.
-            map.setMountains(fresh.getMountains()); // sets the mountains on the map.
-            map.setEnemies(fresh.getEnemies()); // sets the enemies on the map.
-            map.setStartingVillage(fresh.getStartingVillage()); // sets the starting village on the map.
+    public String showMap(Model model, HttpSession session, HttpServletResponse response,
+                          @RequestParam(required = false) ResourcesStorage resources) {
+        // Read this player's whole world once, taking a pre-generated one if it is empty, so the page never mixes two generations.
+        GameMap.WorldSnapshot world = worlds.generatedWorldFor(session);
+        if (world.isEmpty()) {
+            // No pre-generated world was ready; ask the browser to come back once the pool has one.
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return "generating";
         }
 
         // Add the map data to the model.
-        model.addAttribute("villages", map.getVillages()); // adds the villages to the model.
-        model.addAttribute("roads", map.getRoads()); // adds the roads to the model.
-        model.addAttribute("mountains", map.getMountains()); // adds the mountains to the model.
-        model.addAttribute("enemies", map.getEnemies()); // adds the enemies to the model.
-        model.addAttribute("startingVillage", map.getStartingVillage());
+        model.addAttribute("villages", world.getVillages()); // adds the villages to the model.
+        model.addAttribute("roads", world.getRoads()); // adds the roads to the model.
+        model.addAttribute("mountains", world.getMountains()); // adds the mountains to the model.
+        model.addAttribute("enemies", world.getEnemies()); // adds the enemies to the model.
+        model.addAttribute("startingVillage", world.getStartingVillage());
 
         ResourcesStorage resourcesStorage = (resources != null) ? resources : new ResourcesStorage();
         if (resources != null) {
             model.addAttribute("resourcesStorage", resources);
         } else {
-            if (map.getVillages() != null) {
-                for (Village village : map.getVillages()) {
-                    resourcesStorage.addFromVillage(village);
-                }
+            for (Village village : world.getVillages()) {
+                resourcesStorage.addFromVillage(village);
             }
             model.addAttribute("resourcesStorage", resourcesStorage);
         }
@@ -59,10 +74,34 @@ public class MyController {
     }
 
     @PostMapping("/empty")
-    public String emptyMap() {
-        // Clear the map data.
-        map.clearMap();
+    public String emptyMap(HttpSession session) {
+        // Clear this player's map data.
+        worlds.worldFor(session).clearMap();
         // Redirect to the main map view.
         return "redirect:/hello";
     }
+
+    @GetMapping("/admin/worlds/metrics")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> worldMetrics(HttpServletRequest request) {
+        // For operators only: off unless game.worlds.metrics-enabled is set, and then only answered on this machine.
+        if (!metricsEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!isLoopback(request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        // Registry-wide counters plus one entry per world held in memory, and the pre-generation pool.
+        Map<String, Object> metrics = worlds.getMetrics();
+        metrics.put("pool", worldPool.getMetrics());
+        return ResponseEntity.ok(metrics);
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
 }
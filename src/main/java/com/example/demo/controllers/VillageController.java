@@ -4,34 +4,42 @@ package com.example.demo.controllers;
 import com.example.demo.classes.villageClasses.StructureNode;
 import com.example.demo.classes.villageClasses.StructureRoad;
 import com.example.demo.classes.villageClasses.Village;
-import com.example.demo.mechanics.generation.GameMap;
+import com.example.demo.mechanics.generation.WorldRegistry;
+import com.example.demo.mechanics.layout.ConnectivityOverlay;
+import com.example.demo.mechanics.layout.ForceLayout;
 import com.example.demo.mechanics.pathfinding.BellmanFord;
 import com.example.demo.mechanics.pathfinding.Dijkstra;
+import com.example.demo.mechanics.pathfinding.DijkstraEngine;
 import com.example.demo.mechanics.pathfinding.FloydWarshall;
+import com.example.demo.mechanics.pathfinding.StructureGraphSnapshot;
 import com.example.demo.utils.SpriteLoader;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpSession;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Collections;
-import java.util.Map;
-import java.util.Random;
 import java.util.stream.Collectors;
-import java.util.Set;
 import com.example.demo.classes.ResourcesStorage;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
 
 /**
  * <h1>VillageController</h1>
@@ -47,21 +55,55 @@ import org.springframework.web.bind.annotation.ResponseBody;
 public class VillageController {
 
     /**
-     * The game map.
+     * How far above the laid-out structures the decorative fountain is drawn, in pixels.
      */
-    private final GameMap map;
+    static final double FOUNTAIN_OFFSET = 120;
+
+    /**
+     * When this server started; part of every village page's entity tag.
+     */
+    private static final long RENDER_EPOCH = System.currentTimeMillis();
+
+    /**
+     * The per-session game worlds.
+     */
+    private final WorldRegistry worlds;
+
+    /**
+     * The Dijkstra implementation used for the animation steps.
+     */
+    private final DijkstraEngine dijkstraEngine;
+
+    /**
+     * The application's shared, preconfigured JSON mapper.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Turns static asset paths into their content-hashed URLs.
+     */
+    private final ResourceUrlProvider resourceUrls;
 
     /**
      * <h1>VillageController Constructor</h1>
      * <p>
-     * Constructs a VillageController with the given game map.
+     * Constructs a VillageController with the given world registry.
      * </p>
      *
-     * @param map The game map.
+     * @param worlds         The per-session game worlds.
+     * @param dijkstraEngine The Dijkstra implementation, from {@code game.pathfinding.dijkstra-engine}.
+     * @param objectMapper   The shared JSON mapper configured by Spring Boot.
+     * @param resourceUrls   The static resource URL resolver configured by Spring MVC.
      */
-    public VillageController(GameMap map) {
-        // ========================= Set the game map =========================
-        this.map = map;
+    public VillageController(WorldRegistry worlds,
+                             @Value("${game.pathfinding.dijkstra-engine:BINARY_HEAP}") DijkstraEngine dijkstraEngine,
+                             ObjectMapper objectMapper,
+                             ResourceUrlProvider resourceUrls) {
+        // ========================= Set the world registry =========================
+        this.worlds = worlds;
+        this.dijkstraEngine = dijkstraEngine;
+        this.objectMapper = objectMapper;
+        this.resourceUrls = resourceUrls;
     }
 
     /**
@@ -74,27 +116,25 @@ public class VillageController {
      * generates graph data for visualization, and integrates Dijkstra's algorithm to provide
      * pathfinding animation steps.
      * </p>
+     * <p>
+     * The attributes derived from the structure graph are cached per village (see
+     * {@link #renderVillage(Village)}), and the page carries an entity tag, so a browser that
+     * already holds the current page gets a 304 Not Modified without any rendering.
+     * </p>
      *
-     * @param id    The ID of the village to display.
-     * @param model The model to add attributes to.
-     * @return The name of the view to render ("village").
+     * @param id      The ID of the village to display.
+     * @param model   The model to add attributes to.
+     * @param session The player's session, which selects the world.
+     * @param request The current request, for the If-None-Match check.
+     * @return The name of the view to render ("village"), or null if the browser's copy is current.
      */
     @GetMapping("/village/{id}")
-    public String showVillage(@PathVariable int id, Model model) {
-        // ========================= Retrieve the village from the game map based on the provided ID =========================
+    public String showVillage(@PathVariable int id, Model model, HttpSession session, ServletWebRequest request) {
+        // ========================= Retrieve the village from the player's game map based on the provided ID =========================
         /**
-         * Retrieve the village from the game map based on the provided ID.
+         * Retrieve the village from the player's game map based on the provided ID.
          */
-        Village village = map.getVillages().stream()
-                /**
-                 * Filter the villages to find the one with the matching ID.
-                 */
-                .filter(v -> v.getId() == id)
-                /**
-                 * Get the first matching village or return null if not found.
-                 */
-                .findFirst()
-                .orElse(null);
+        Village village = worlds.worldFor(session).findVillageById(id);
 
         // ========================= If the village is not found, redirect to the home page =========================
         /**
@@ -104,6 +144,47 @@ public class VillageController {
             return "redirect:/";
         }
 
+        // ========================= Answer repeat views with 304 Not Modified =========================
+        /**
+         * The page is per player, and the browser must check back before reusing it.
+         */
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (request.checkNotModified(renderETag(village))) {
+            return null;
+        }
+
+        // ========================= Reuse the rendered attributes while the structure graph is unchanged =========================
+        RenderedVillage rendered = village.getPathCache().get(
+                "render:" + dijkstraEngine,
+                village.getStructureVersion(),
+                () -> renderVillage(village));
+
+        // ========================= Add attributes to the model for rendering in the view =========================
+        model.addAttribute("village", village);
+        model.addAttribute("hasNegativeEdge", rendered.hasNegativeEdge);
+        model.addAttribute("hasNegativeCycle", rendered.hasNegativeCycle);
+        model.addAttribute("graphData", rendered.graphData);
+        model.addAttribute("fountainSprite", rendered.fountainSprite);
+        model.addAttribute("animationSteps", rendered.animationSteps);
+
+        return "village";
+    }
+
+    /**
+     * <h1>renderVillage Method</h1>
+     * <p>
+     * Computes the model attributes of the village page that depend on the structure graph: the
+     * negative edge and cycle flags, the graph data, the fountain sprite and the Dijkstra steps.
+     * </p>
+     * <p>
+     * The result only depends on the structure graph, so it is cached per structure version and
+     * shared by every view of the village until the graph changes.
+     * </p>
+     *
+     * @param village The village to render.
+     * @return The rendered attributes.
+     */
+    private RenderedVillage renderVillage(Village village) {
         // ========================= Check for negative edges in the village structure =========================
         /**
          * Initialize a flag to check for negative edges.
@@ -120,10 +201,6 @@ public class VillageController {
              * Iterate through each road connected to the node.
              */
             for (StructureRoad road : node.getConnections()) {
-                /**
-                 * Print a message to the console to check the road.
-                 */
-                System.out.println("Checking road: " + road.getFromStructure().getId() + " -> " + road.getToStructure().getId() + " weight: " + road.getWeight());
                 // ========================= If the road has a negative weight, set hasNegativeEdge to true and break =========================
                 /**
                  * If the road has a negative weight, set hasNegativeEdge to true and break.
@@ -140,36 +217,25 @@ public class VillageController {
             if (hasNegativeEdge) break;
         }
 
-        // ========================= Add attributes to the model for rendering in the view =========================
-        /**
-         * Add attributes to the model for rendering in the view.
-         */
-        model.addAttribute("hasNegativeEdge", hasNegativeEdge);
+        // ========================= Check for a negative cycle =========================
         /**
-         * Add the village to the model.
+         * Check the village for a negative cycle.
          */
-        model.addAttribute("village", village);
-        /**
-         * Add the hasNegativeCycle flag to the model.
-         */
-        model.addAttribute("hasNegativeCycle", village.hasNegativeCycle());
+        boolean hasNegativeCycle = village.hasNegativeCycle();
 
         // ========================= Generate graph data for the village =========================
+        String graphData;
         try {
             /**
              * Generate graph data for the village.
              */
-            String graphData = generateGraphData(village);
-            /**
-             * Add the graph data to the model.
-             */
-            model.addAttribute("graphData", graphData);
-        } catch (JsonProcessingException e) {
+            graphData = generateGraphData(village);
+        } catch (IOException e) {
             e.printStackTrace();
             /**
              * If there is an error, add an empty JSON array to the model.
              */
-            model.addAttribute("graphData", "[]");
+            graphData = "[]";
         }
 
         // ========================= Get the fountain sprite for the village type =========================
@@ -177,12 +243,9 @@ public class VillageController {
          * Get the fountain sprite for the village type.
          */
         String fountainSprite = SpriteLoader.getFountainSprite(village.getType());
-        /**
-         * Add the fountain sprite to the model.
-         */
-        model.addAttribute("fountainSprite", fountainSprite);
 
         // ========================= 🛠️ Dijkstra steps generation =========================
+        String animationStepsJson;
         try {
             String startId = null;
 
@@ -229,55 +292,86 @@ public class VillageController {
             }
 
 
-            // ========================= 🔥 Correct way: get edges from the nodes themselves =========================
-            List<StructureRoad> structureEdges = new ArrayList<>();
-            // ========================= Iterate through each structure node in the village =========================
-            /**
-             * Iterate through each structure node in the village.
-             */
-            for (StructureNode node : village.getStructuresList()) {
-                // ========================= Add all connections to the list of structure edges =========================
-                /**
-                 * Add all connections to the list of structure edges.
-                 */
-                structureEdges.addAll(node.getConnections());
-            }
+            // ========================= Build the structure graph once =========================
+            StructureGraphSnapshot graph = village.getGraphSnapshot();
 
             // ========================= Generate Dijkstra animation steps =========================
             /**
              * Generate Dijkstra animation steps.
              */
-            List<Dijkstra.AnimationStep> steps = Dijkstra.generateDijkstraAnimation(
-                    village.getStructuresList(),
-                    structureEdges, // ✅ Correct list
-                    startId
-            );
+            String dijkstraStart = startId;
+            List<Dijkstra.AnimationStep> steps = village.getPathCache().get(
+                    "dijkstra:" + dijkstraEngine + ":" + startId,
+                    village.getStructureVersion(),
+                    () -> Collections.unmodifiableList(dijkstraEngine.generateAnimation(graph, dijkstraStart)));
 
             // ========================= Convert animation steps to JSON format =========================
             /**
-             * Convert animation steps to JSON format.
+             * Convert animation steps to JSON format with the shared mapper, streamed straight from the step objects.
              */
-            ObjectMapper mapper = new ObjectMapper();
             System.out.println("Number of animation steps: " + steps.size());
-            String animationStepsJson = mapper.writeValueAsString(steps);
-            /**
-             * Add the animation steps to the model.
-             */
-            model.addAttribute("animationSteps", animationStepsJson);
-  
+            animationStepsJson = objectMapper.writeValueAsString(steps);
 
         } catch (Exception e) {
             e.printStackTrace();
             /**
              * If there is an error, add an empty JSON array to the model.
              */
-            model.addAttribute("animationSteps", "[]");
+            animationStepsJson = "[]";
         }
 
+        return new RenderedVillage(hasNegativeEdge, hasNegativeCycle, graphData, fountainSprite, animationStepsJson);
+    }
 
+    /**
+     * <h1>renderETag Method</h1>
+     * <p>
+     * Gets the entity tag of a village page.
+     * </p>
+     * <p>
+     * The tag combines the start of this server (so a redeploy with a new template is never
+     * answered with 304), the village, its structure version (stamps are never reused within a
+     * run), the Dijkstra implementation and an MD5 digest of the village fields shown on the page.
+     * Strings are prefixed with their length, so no two sets of fields digest the same text.
+     * </p>
+     *
+     * @param village The village.
+     * @return The weak entity tag of its page.
+     */
+    private String renderETag(Village village) {
+        StringBuilder shown = new StringBuilder();
+        for (String text : new String[]{village.getName(), village.getSprite()}) {
+            shown.append(text == null ? -1 : text.length()).append(':').append(text).append(',');
+        }
+        for (int number : new int[]{village.getPopulation(), village.getStructures(), village.getXCoordinate(),
+                village.getYCoordinate(), village.getKnights(), village.getVillagers(), village.getWood(),
+                village.getFood(), village.getIron(), village.getCoal(), village.getRocks()}) {
+            shown.append(number).append(',');
+        }
+        String digest = DigestUtils.md5DigestAsHex(shown.toString().getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + Long.toHexString(RENDER_EPOCH) + "-" + village.getId() + "-" + village.getStructureVersion()
+                + "-" + dijkstraEngine.ordinal() + "-" + digest + "\"";
+    }
 
-
-        return "village";
+    /**
+     * The model attributes of a village page that depend on its structure graph. Shared between
+     * requests through the village's cache, and never changed.
+     */
+    private static final class RenderedVillage {
+        private final boolean hasNegativeEdge;
+        private final boolean hasNegativeCycle;
+        private final String graphData;
+        private final String fountainSprite;
+        private final String animationSteps;
+
+        private RenderedVillage(boolean hasNegativeEdge, boolean hasNegativeCycle, String graphData,
+                                String fountainSprite, String animationSteps) {
+            this.hasNegativeEdge = hasNegativeEdge;
+            this.hasNegativeCycle = hasNegativeCycle;
+            this.graphData = graphData;
+            this.fountainSprite = fountainSprite;
+            this.animationSteps = animationSteps;
+        }
     }
 
     /**
@@ -289,135 +383,83 @@ public class VillageController {
      * This method creates a JSON representation of the village's structure graph, including nodes
      * and edges, for use in visualization libraries.
      * </p>
+     * <p>
+     * The JSON is written token by token with a streaming {@link JsonGenerator} from the shared
+     * mapper: all nodes first, then all edges, without building a map per node or edge.
+     * </p>
+     * <p>
+     * Every node carries its position from the village's cached {@link ForceLayout}, so the page
+     * draws the graph with cytoscape's preset layout instead of laying it out in the browser.
+     * </p>
      *
      * @param village The village to generate graph data for.
      * @return The graph data as a JSON string.
-     * @throws JsonProcessingException If there is an error processing the JSON.
+     * @throws IOException If there is an error writing the JSON.
      */
-    private String generateGraphData(Village village) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        List<Object> nodes = new ArrayList<>();
-        List<Object> edges = new ArrayList<>();
-
+    private String generateGraphData(Village village) throws IOException {
         List<StructureNode> structureNodes = village.getStructuresList();
 
-        // --- Ensure full connectivity using MST-like logic ---
-        Set<Integer> connected = new HashSet<>();
-        List<StructureRoad> newStructureEdges = new ArrayList<>();
-        if (!structureNodes.isEmpty()) {
-            connected.add(structureNodes.get(0).getId()); // Start from the first node
-
-            while (connected.size() < structureNodes.size()) {
-                double minDistance = Double.MAX_VALUE;
-                StructureNode bestFrom = null;
-                StructureNode bestTo = null;
-
-                for (StructureNode from : structureNodes) {
-                    if (!connected.contains(from.getId())) continue;
-                    for (StructureNode to : structureNodes) {
-                        if (connected.contains(to.getId())) continue;
-
-                        double dx = Math.abs(from.getX() - to.getX());
-                        double dy = Math.abs(from.getY() - to.getY());
-                        double distance = Math.sqrt(dx * dx + dy * dy);
-
-                        if (distance < minDistance) {
-                            minDistance = distance;
-                            bestFrom = from;
-                            bestTo = to;
-                        }
-                    }
-                }
-
-                if (bestFrom != null && bestTo != null) {
-                    StructureRoad road = new StructureRoad(bestFrom, bestTo, 1);
-                    bestFrom.getConnections().add(road);
-                    bestTo.getConnections().add(road);
-                    newStructureEdges.add(road);
-                    connected.add(bestTo.getId());
-                } else {
-                    break; // Safety
-                }
-            }
-        }
-
-
-        // Track connected node IDs
-        Map<Integer, Boolean> isConnected = new HashMap<>();
-
-        for (StructureNode node : structureNodes) {
-            Map<String, Object> nodeData = new HashMap<>();
-            Map<String, Object> data = new HashMap<>();
-            Random rand = new Random(node.getId()); // ✅ seed the randomness per node so it's stable
-            data.put("id", node.getId());
-            data.put("houseSprite", node.getSprite());
-            data.put("x", rand.nextInt(600) + 100); // x between 100-700
-            data.put("y", rand.nextInt(400) + 100); // y between 100-500
-            nodeData.put("data", data);
-            nodes.add(nodeData);
-
-            boolean hasEdge = false;
-
-            // Add outgoing edges
-            for (StructureRoad edge : node.getConnections()) {
-                hasEdge = true;
-                StructureNode to = edge.getToStructure();
-                addEdge(nodes, edges, node, to, edge.getWeight(), isConnected);
+        // ========================= Node positions, laid out once per structure version =========================
+        StructureGraphSnapshot graph = village.getGraphSnapshot();
+        ForceLayout.Result layout = village.getLayout();
+        ConnectivityOverlay overlay = village.getConnectivityOverlay();
+
+        StringWriter json = new StringWriter();
+        int edgeCount = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            generator.writeStartObject();
+
+            // ========================= Nodes =========================
+            generator.writeArrayFieldStart("nodes");
+            for (StructureNode node : structureNodes) {
+                int index = graph.indexOf(node.getId());
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("data");
+                generator.writeNumberField("id", node.getId());
+                generator.writeStringField("houseSprite", assetUrl(node.getSprite()));
+                generator.writeEndObject();
+                writePosition(generator, layout.getX(index), layout.getY(index));
+                generator.writeEndObject();
             }
 
-            // Add incoming edges
-            for (StructureRoad edge : village.getStructureRoads()) {
-                if (edge.getToStructure().equals(node)) {
-                    hasEdge = true;
+            // Add fountain node if needed, centred above the laid-out structures
+            String fountainSprite = SpriteLoader.getFountainSprite(village.getType());
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("data");
+            generator.writeStringField("id", "fountain");
+            generator.writeStringField("houseSprite", assetUrl(fountainSprite));
+            generator.writeEndObject();
+            writePosition(generator, layout.getWidth() / 2, -FOUNTAIN_OFFSET);
+            generator.writeEndObject();
+            generator.writeEndArray();
+
+            // ========================= Edges =========================
+            generator.writeArrayFieldStart("edges");
+
+            // Every road is indexed at the node it leads to, so each one is written exactly once
+            for (StructureNode node : structureNodes) {
+                // Add incoming edges
+                for (StructureRoad edge : node.getIncomingConnections()) {
                     StructureNode from = edge.getFromStructure();
-                    addEdge(nodes, edges, from, node, edge.getWeight(), isConnected);
+                    addEdge(generator, from, node, edge.getWeight());
+                    edgeCount++;
                 }
             }
 
-            if (!hasEdge) {
-                isConnected.putIfAbsent(node.getId(), false); // Mark as unconnected if no edges from it
+            // 🔗 Link the parts of the village no road connects, from the cached overlay
+            for (int link = 0; link < overlay.linkCount(); link++) {
+                int from = graph.idAt(overlay.fromAt(link));
+                int to = graph.idAt(overlay.toAt(link));
+                writeEdge(generator, from + "-link-" + to, from, to, 0); // neutral edge
+                edgeCount++;
             }
-        }
+            generator.writeEndArray();
 
-        // 🔧 Fix disconnected nodes
-        for (StructureNode node : structureNodes) {
-            if (!isConnected.getOrDefault(node.getId(), false)) {
-                // Pick nearest connected node (just pick the first one with a connection)
-                for (StructureNode target : structureNodes) {
-                    if (!node.equals(target) && isConnected.getOrDefault(target.getId(), true)) {
-                        Map<String, Object> edgeData = new HashMap<>();
-                        Map<String, Object> edgeProps = new HashMap<>();
-                        edgeProps.put("id", node.getId() + "-fix-" + target.getId());
-                        edgeProps.put("source", node.getId());
-                        edgeProps.put("target", target.getId());
-                        edgeProps.put("weight", 0); // neutral edge
-                        edgeData.put("data", edgeProps);
-                        edges.add(edgeData);
-                        System.out.println("🔧 Connected orphan node " + node.getId() + " → " + target.getId());
-                        break;
-                    }
-                }
-            }
+            generator.writeEndObject();
         }
 
-        // Add fountain node if needed
-        String fountainSprite = SpriteLoader.getFountainSprite(village.getType());
-        Map<String, Object> fountainNode = new HashMap<>();
-        Map<String, Object> fountainData = new HashMap<>();
-        fountainData.put("id", "fountain");
-        fountainData.put("houseSprite", fountainSprite);
-        fountainNode.put("data", fountainData);
-        nodes.add(fountainNode);
-
-        Map<String, Object> graphData = new HashMap<>();
-        graphData.put("nodes", nodes);
-        graphData.put("edges", edges);
-
-        String graphDataJson = objectMapper.writeValueAsString(graphData);
-        System.out.println("Generated graph data:");
-        System.out.println("Nodes: " + nodes);
-        System.out.println("Edges: " + edges);
-        return graphDataJson;
+        System.out.println("Generated graph data: " + (structureNodes.size() + 1) + " nodes, " + edgeCount + " edges");
+        return json.toString();
     }
 
     /**
@@ -426,29 +468,50 @@ public class VillageController {
      * Adds an edge to the graph data.
      * </p>
      * <p>
-     * This method creates an edge between two structure nodes and adds it to the list of edges.
-     * It also updates the isConnected map to track connected nodes.
+     * This method writes an edge between two structure nodes to the edges array.
      * </p>
      *
-     * @param nodes       The list of nodes in the graph.
-     * @param edges       The list of edges in the graph.
-     * @param from        The source structure node.
-     * @param to          The target structure node.
-     * @param weight      The weight of the edge.
-     * @param isConnected A map to track connected node IDs.
+     * @param generator The JSON generator, positioned inside the edges array.
+     * @param from      The source structure node.
+     * @param to        The target structure node.
+     * @param weight    The weight of the edge.
+     * @throws IOException If there is an error writing the JSON.
+     */
+    private void addEdge(JsonGenerator generator, StructureNode from, StructureNode to, int weight) throws IOException {
+        writeEdge(generator, from.getId() + "-" + to.getId(), from.getId(), to.getId(), weight);
+    }
+
+    /**
+     * Gets the content-hashed URL of a static asset, which browsers may cache for good; the
+     * graph data is built outside Thymeleaf, so its sprite paths are not rewritten by {@code @{...}}.
+     */
+    private String assetUrl(String path) {
+        String url = resourceUrls.getForLookupPath(path);
+        return url != null ? url : path;
+    }
+
+    /**
+     * Writes the {@code "position": {"x", "y"}} of a cytoscape node element, read by the page's preset layout.
+     */
+    private void writePosition(JsonGenerator generator, double x, double y) throws IOException {
+        generator.writeObjectFieldStart("position");
+        generator.writeNumberField("x", x);
+        generator.writeNumberField("y", y);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes one cytoscape edge element: {@code {"data": {"id", "source", "target", "weight"}}}.
      */
-    private void addEdge(List<Object> nodes, List<Object> edges, StructureNode from, StructureNode to, int weight, Map<Integer, Boolean> isConnected) {
-        Map<String, Object> edgeData = new HashMap<>();
-        Map<String, Object> edgeProps = new HashMap<>();
-        edgeProps.put("id", from.getId() + "-" + to.getId());
-        edgeProps.put("source", from.getId());
-        edgeProps.put("target", to.getId());
-        edgeProps.put("weight", weight);
-        edgeData.put("data", edgeProps);
-        edges.add(edgeData);
-
-        isConnected.put(from.getId(), true);
-        isConnected.put(to.getId(), true);
+    private void writeEdge(JsonGenerator generator, String id, int source, int target, int weight) throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("data");
+        generator.writeStringField("id", id);
+        generator.writeNumberField("source", source);
+        generator.writeNumberField("target", target);
+        generator.writeNumberField("weight", weight);
+        generator.writeEndObject();
+        generator.writeEndObject();
     }
 
     /**
@@ -470,12 +533,9 @@ public class VillageController {
     }
 
     @GetMapping("/village/{id}/dijkstra")
-    public ResponseEntity<List<Dijkstra.AnimationStep>> getDijkstraSteps(@PathVariable int id) {
-        // ========================= Retrieve the village from the game map based on the provided ID =========================
-        Village village = map.getVillages().stream()
-                .filter(v -> v.getId() == id)
-                .findFirst()
-                .orElse(null);
+    public ResponseEntity<List<Dijkstra.AnimationStep>> getDijkstraSteps(@PathVariable int id, HttpSession session) {
+        // ========================= Retrieve the village from the player's game map based on the provided ID =========================
+        Village village = worlds.worldFor(session).findVillageById(id);
     
         // ========================= If the village is not found, return a 404 Not Found response =========================
         if (village == null) {
@@ -484,16 +544,13 @@ public class VillageController {
     
         // ========================= Get the list of structure nodes from the village =========================
         List<StructureNode> nodes = village.getStructuresList();
-        
-        // ========================= 🔥 Correct way: collect edges from nodes, not from village =========================
-        List<StructureRoad> structureEdges = new ArrayList<>();
-        // ========================= Iterate through each structure node and add its connections to the list of structure edges =========================
-        for (StructureNode node : nodes) {
-            structureEdges.addAll(node.getConnections());
-        }
-    
+
         String startId = findValidStartNode(nodes);
-        List<Dijkstra.AnimationStep> steps = Dijkstra.generateDijkstraAnimation(nodes, structureEdges, startId);
+        // ========================= Reuse the cached steps while the structure graph is unchanged =========================
+        List<Dijkstra.AnimationStep> steps = village.getPathCache().get(
+                "dijkstra:" + dijkstraEngine + ":" + startId,
+                village.getStructureVersion(),
+                () -> Collections.unmodifiableList(dijkstraEngine.generateAnimation(village.getGraphSnapshot(), startId)));
     
         return ResponseEntity.ok(steps);
     }
@@ -502,30 +559,24 @@ public class VillageController {
 
     // ========================= 🛡️ BellmanFord animation =========================
     @GetMapping("/village/{id}/bellmanford")
-    public ResponseEntity<List<BellmanFord.AnimationStep>> getBellmanFordAnimation(@PathVariable int id) {
-        // ========================= Retrieve the village from the game map based on the provided ID =========================
-        Village village = map.getVillages().stream()
-                .filter(v -> v.getId() == id)
-                .findFirst()
-                .orElse(null);
+    public ResponseEntity<List<BellmanFord.AnimationStep>> getBellmanFordAnimation(@PathVariable int id, HttpSession session) {
+        // ========================= Retrieve the village from the player's game map based on the provided ID =========================
+        Village village = worlds.worldFor(session).findVillageById(id);
 
         // ========================= If the village is not found, return a 404 Not Found response =========================
         if (village == null) {
             return ResponseEntity.notFound().build();
         }
 
-        // ========================= Get the list of structure edges from the village =========================
-        List<StructureRoad> structureEdges = new ArrayList<>();
-        // ========================= Iterate through each structure node and add its connections to the list of structure edges =========================
-        for (StructureNode node : village.getStructuresList()) {
-            structureEdges.addAll(node.getConnections());
-        }
-
         String startId = "0"; // or your way of finding starting node
-        List<BellmanFord.AnimationStep> steps = BellmanFord.generateBellmanFordAnimation(
-                village.getStructuresList(),
-                structureEdges,
-                startId
+        // ========================= Reuse the cached steps while the structure graph is unchanged =========================
+        List<BellmanFord.AnimationStep> steps = village.getPathCache().get(
+                "bellmanford:" + startId,
+                village.getStructureVersion(),
+                () -> Collections.unmodifiableList(BellmanFord.generateBellmanFordAnimation(
+                        village.getGraphSnapshot(),
+                        startId
+                ))
         );
 
         return ResponseEntity.ok(steps);
@@ -533,11 +584,8 @@ public class VillageController {
 
     // 🧠 Floyd-Warshall animation
     @GetMapping("/village/{id}/floydwarshall")
-    public ResponseEntity<List<FloydWarshall.AnimationStep>> getFloydWarshallAnimation(@PathVariable int id, Model model) {
-        Village village = map.getVillages().stream()
-                .filter(v -> v.getId() == id)
-                .findFirst()
-                .orElse(null);
+    public ResponseEntity<List<FloydWarshall.AnimationStep>> getFloydWarshallAnimation(@PathVariable int id, Model model, HttpSession session) {
+        Village village = worlds.worldFor(session).findVillageById(id);
     
         if (village == null) {
             return ResponseEntity.notFound().build();
@@ -545,22 +593,11 @@ public class VillageController {
     
         System.out.println("Floyd-Warshall animation requested for village ID: " + id);
     
-        List<StructureRoad> structureEdges = new ArrayList<>();
-        // Clear the structureEdges list to ensure it's updated for the new village
-        structureEdges.clear();
-        for (StructureNode node : village.getStructuresList()) {
-            structureEdges.addAll(node.getConnections());
-        }
+        StructureGraphSnapshot graph = village.getGraphSnapshot();
     
-        System.out.println("Number of edges for Floyd-Warshall: " + structureEdges.size());
+        System.out.println("Number of edges for Floyd-Warshall: " + graph.edgeCount());
     
-        boolean hasNegativeEdge = false;
-        for (StructureRoad edge : structureEdges) {
-            if (edge.getWeight() < 0) {
-                hasNegativeEdge = true;
-                break;
-            }
-        }
+        boolean hasNegativeEdge = graph.hasNegativeEdge();
     
         List<FloydWarshall.AnimationStep> steps = null;
         boolean hasNegativeCycle = false;
@@ -572,10 +609,7 @@ public class VillageController {
             } else {
                 hasNegativeCycle = false;
                 try {
-                    steps = FloydWarshall.generateFloydWarshallAnimation(
-                            village.getStructuresList(),
-                            structureEdges
-                    );
+                    steps = getCachedFloydWarshallSteps(village);
                     System.out.println("Floyd-Warshall generated " + steps.size() + " animation steps.");
                 } catch (Exception e) {
                     System.err.println("Error generating Floyd-Warshall animation: " + e.getMessage());
@@ -586,10 +620,7 @@ public class VillageController {
         } else {
             hasNegativeCycle = false;
             try {
-                steps = FloydWarshall.generateFloydWarshallAnimation(
-                        village.getStructuresList(),
-                        structureEdges
-                );
+                steps = getCachedFloydWarshallSteps(village);
                 System.out.println("Floyd-Warshall generated " + steps.size() + " animation steps.");
             } catch (Exception e) {
                 System.err.println("Error generating Floyd-Warshall animation: " + e.getMessage());
@@ -602,6 +633,21 @@ public class VillageController {
         return ResponseEntity.ok(steps);
     }
 
+    /**
+     * Gets the Floyd-Warshall animation steps of a village, reusing the cached steps while its
+     * structure graph is unchanged. The "finalize" steps are read from the village's cached
+     * all-pairs distances.
+     *
+     * @param village The village.
+     * @return The animation steps, as an unmodifiable list.
+     */
+    private List<FloydWarshall.AnimationStep> getCachedFloydWarshallSteps(Village village) {
+        return village.getPathCache().get(
+                "floydwarshall",
+                village.getStructureVersion(),
+                () -> Collections.unmodifiableList(FloydWarshall.generateFloydWarshallAnimation(village.getAllPairsDistances())));
+    }
+
     @CrossOrigin(origins = "http://localhost:8080")
     @PostMapping("/updateResources")
     public ResponseEntity<String> updateResources(@RequestBody ResourcesStorage resources) {
@@ -0,0 +1,286 @@
+package com.example.demo.mechanics.generation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h1>DelaunayTriangulation</h1>
+ * <p>
+ * Computes the edges of the Delaunay triangulation of a set of integer points.
+ * </p>
+ * <p>
+ * The Euclidean minimum spanning tree of a point set is always a subgraph of its Delaunay
+ * triangulation, which has at most {@code 3n - 6} edges. Feeding these edges to Kruskal instead
+ * of all {@code n(n-1)/2} pairs gives the same tree for plain distances at a fraction of the cost.
+ * </p>
+ * <p>
+ * This is the incremental Bowyer-Watson algorithm. The points are wrapped in a large
+ * super-triangle and inserted one by one in a grid-snake order, so consecutive points are close
+ * together. Each point is located by walking across triangle neighbours from the last triangle
+ * created, the triangles whose circumcircle contains it are collected by a flood fill over
+ * neighbours, and the resulting cavity is re-triangulated around the new point. With the spatial
+ * insertion order every step only touches a few triangles, so the whole run is close to linear.
+ * </p>
+ * <p>
+ * Orientation tests are exact in {@code long}. The in-circle test is computed in {@code double}
+ * and only falls back to exact {@link BigInteger} arithmetic when the result is too close to zero
+ * to trust, which happens for co-circular points such as those on a lattice.
+ * </p>
+ */
+public final class DelaunayTriangulation {
+
+    // Triangle t has vertices v[3t..3t+2] in counter-clockwise order; n[3t+k] is the triangle
+    // across the edge opposite vertex v[3t+k], or -1 on the outside.
+    private int[] v = new int[48];
+    private int[] n = new int[48];
+    private boolean[] alive = new boolean[16];
+    private int triangleCount;
+
+    private final long[] xs;
+    private final long[] ys;
+    private int lastTriangle;
+
+    private DelaunayTriangulation(long[] xs, long[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * <h1>edges Method</h1>
+     * <p>
+     * Computes the Delaunay edges between the given points. Duplicate points are skipped.
+     * </p>
+     *
+     * @param x The x-coordinates of the points.
+     * @param y The y-coordinates of the points, in the same order.
+     * @return The edges as {@code {i, j}} index pairs with {@code i < j}, each edge once.
+     */
+    public static List<int[]> edges(int[] x, int[] y) {
+        int count = x.length;
+        List<int[]> result = new ArrayList<>();
+        if (count < 2) {
+            return result;
+        }
+        if (count == 2) {
+            if (x[0] != x[1] || y[0] != y[1]) result.add(new int[]{0, 1});
+            return result;
+        }
+
+        long minX = Long.MAX_VALUE, minY = Long.MAX_VALUE, maxX = Long.MIN_VALUE, maxY = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+
+        // Points first, then the three super-triangle corners far outside the bounding box.
+        long[] px = new long[count + 3];
+        long[] py = new long[count + 3];
+        for (int i = 0; i < count; i++) {
+            px[i] = x[i];
+            py[i] = y[i];
+        }
+        long size = Math.max(maxX - minX, maxY - minY) + 1;
+        long centerX = (minX + maxX) / 2;
+        long centerY = (minY + maxY) / 2;
+        long far = 1000 * size;
+        px[count] = centerX - far;
+        py[count] = centerY - far;
+        px[count + 1] = centerX + far;
+        py[count + 1] = centerY - far;
+        px[count + 2] = centerX;
+        py[count + 2] = centerY + far;
+
+        DelaunayTriangulation triangulation = new DelaunayTriangulation(px, py);
+        triangulation.addTriangle(count, count + 1, count + 2, -1, -1, -1);
+
+        Set<Long> seen = new HashSet<>();
+        for (int point : insertionOrder(x, y, minX, minY, size)) {
+            if (seen.add(((long) x[point] << 32) | (y[point] & 0xffffffffL))) {
+                triangulation.insert(point);
+            }
+        }
+
+        for (int t = 0; t < triangulation.triangleCount; t++) {
+            if (!triangulation.alive[t]) continue;
+            for (int k = 0; k < 3; k++) {
+                int a = triangulation.v[3 * t + (k + 1) % 3];
+                int b = triangulation.v[3 * t + (k + 2) % 3];
+                int across = triangulation.n[3 * t + k];
+                if (a >= count || b >= count) continue;
+                // Report each shared edge from the lower-numbered triangle only.
+                if (across == -1 || t < across) {
+                    result.add(new int[]{Math.min(a, b), Math.max(a, b)});
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Orders the points row by row over a coarse grid, alternating direction on every row.
+     */
+    private static int[] insertionOrder(int[] x, int[] y, long minX, long minY, long size) {
+        int count = x.length;
+        long cell = Math.max(1, (long) Math.ceil(size / Math.sqrt(count)));
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            long row = (y[i] - minY) / cell;
+            long column = (x[i] - minX) / cell;
+            if ((row & 1) == 1) column = (size / cell + 1) - column;
+            keys[i] = ((row << 20 | column) << 24) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) (keys[i] & 0xffffff);
+        }
+        return order;
+    }
+
+    private int addTriangle(int a, int b, int c, int acrossA, int acrossB, int acrossC) {
+        int t = triangleCount++;
+        if (3 * triangleCount > v.length) {
+            v = Arrays.copyOf(v, v.length * 2);
+            n = Arrays.copyOf(n, n.length * 2);
+            alive = Arrays.copyOf(alive, alive.length * 2);
+        }
+        v[3 * t] = a;
+        v[3 * t + 1] = b;
+        v[3 * t + 2] = c;
+        n[3 * t] = acrossA;
+        n[3 * t + 1] = acrossB;
+        n[3 * t + 2] = acrossC;
+        alive[t] = true;
+        lastTriangle = t;
+        return t;
+    }
+
+    private void insert(int p) {
+        int start = locate(p);
+
+        // Flood-fill the triangles whose circumcircle contains p; they form a connected cavity.
+        List<Integer> bad = new ArrayList<>();
+        Set<Integer> badSet = new HashSet<>();
+        bad.add(start);
+        badSet.add(start);
+        for (int i = 0; i < bad.size(); i++) {
+            int t = bad.get(i);
+            for (int k = 0; k < 3; k++) {
+                int across = n[3 * t + k];
+                if (across != -1 && !badSet.contains(across) && inCircumcircle(across, p)) {
+                    badSet.add(across);
+                    bad.add(across);
+                }
+            }
+        }
+
+        // Connect p to every boundary edge of the cavity.
+        Map<Integer, Integer> startsAt = new HashMap<>();
+        Map<Integer, Integer> endsAt = new HashMap<>();
+        List<Integer> created = new ArrayList<>();
+        for (int t : bad) {
+            for (int k = 0; k < 3; k++) {
+                int across = n[3 * t + k];
+                if (across != -1 && badSet.contains(across)) continue;
+                int a = v[3 * t + (k + 1) % 3];
+                int b = v[3 * t + (k + 2) % 3];
+                int fresh = addTriangle(a, b, p, -1, -1, across);
+                if (across != -1) {
+                    for (int j = 0; j < 3; j++) {
+                        if (n[3 * across + j] == t) n[3 * across + j] = fresh;
+                    }
+                }
+                startsAt.put(a, fresh);
+                endsAt.put(b, fresh);
+                created.add(fresh);
+            }
+        }
+        for (int t : created) {
+            int a = v[3 * t];
+            int b = v[3 * t + 1];
+            n[3 * t] = startsAt.get(b);   // edge b-p
+            n[3 * t + 1] = endsAt.get(a); // edge p-a
+        }
+        for (int t : bad) {
+            alive[t] = false;
+        }
+    }
+
+    /**
+     * Finds a triangle containing p by walking towards it from the last created triangle.
+     */
+    private int locate(int p) {
+        int t = lastTriangle;
+        for (int steps = 0; steps <= triangleCount; steps++) {
+            int next = -1;
+            for (int k = 0; k < 3 && next == -1; k++) {
+                int a = v[3 * t + (k + 1) % 3];
+                int b = v[3 * t + (k + 2) % 3];
+                if (orient(a, b, p) < 0) next = n[3 * t + k];
+            }
+            if (next == -1) {
+                return t;
+            }
+            t = next;
+        }
+        // The walk should always arrive; scan as a safety net.
+        for (int s = triangleCount - 1; s >= 0; s--) {
+            if (alive[s] && orient(v[3 * s], v[3 * s + 1], p) >= 0
+                    && orient(v[3 * s + 1], v[3 * s + 2], p) >= 0
+                    && orient(v[3 * s + 2], v[3 * s], p) >= 0) {
+                return s;
+            }
+        }
+        return lastTriangle;
+    }
+
+    private long orient(int a, int b, int c) {
+        return Long.signum((xs[b] - xs[a]) * (ys[c] - ys[a]) - (ys[b] - ys[a]) * (xs[c] - xs[a]));
+    }
+
+    /**
+     * Checks whether p lies strictly inside the circumcircle of triangle t.
+     */
+    private boolean inCircumcircle(int t, int p) {
+        int a = v[3 * t];
+        int b = v[3 * t + 1];
+        int c = v[3 * t + 2];
+        double adx = xs[a] - xs[p], ady = ys[a] - ys[p];
+        double bdx = xs[b] - xs[p], bdy = ys[b] - ys[p];
+        double cdx = xs[c] - xs[p], cdy = ys[c] - ys[p];
+        double alift = adx * adx + ady * ady;
+        double blift = bdx * bdx + bdy * bdy;
+        double clift = cdx * cdx + cdy * cdy;
+        double det = alift * (bdx * cdy - cdx * bdy)
+                + blift * (cdx * ady - adx * cdy)
+                + clift * (adx * bdy - bdx * ady);
+        double permanent = alift * (Math.abs(bdx * cdy) + Math.abs(cdx * bdy))
+                + blift * (Math.abs(cdx * ady) + Math.abs(adx * cdy))
+                + clift * (Math.abs(adx * bdy) + Math.abs(bdx * ady));
+        if (Math.abs(det) > 1e-12 * permanent) {
+            return det > 0;
+        }
+        return exactInCircle(a, b, c, p) > 0;
+    }
+
+    private int exactInCircle(int a, int b, int c, int p) {
+        BigInteger adx = BigInteger.valueOf(xs[a] - xs[p]), ady = BigInteger.valueOf(ys[a] - ys[p]);
+        BigInteger bdx = BigInteger.valueOf(xs[b] - xs[p]), bdy = BigInteger.valueOf(ys[b] - ys[p]);
+        BigInteger cdx = BigInteger.valueOf(xs[c] - xs[p]), cdy = BigInteger.valueOf(ys[c] - ys[p]);
+        BigInteger alift = adx.multiply(adx).add(ady.multiply(ady));
+        BigInteger blift = bdx.multiply(bdx).add(bdy.multiply(bdy));
+        BigInteger clift = cdx.multiply(cdx).add(cdy.multiply(cdy));
+        BigInteger det = alift.multiply(bdx.multiply(cdy).subtract(cdx.multiply(bdy)))
+                .add(blift.multiply(cdx.multiply(ady).subtract(adx.multiply(cdy))))
+                .add(clift.multiply(adx.multiply(bdy).subtract(bdx.multiply(ady))));
+        return det.signum();
+    }
+}
@@ -6,9 +6,12 @@ import com.example.demo.classes.Road;
 import com.example.demo.classes.villageClasses.Village;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-
-import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * <h1>GameMap</h1>
@@ -20,64 +23,128 @@ import org.springframework.stereotype.Component;
  * mountains, villages, roads, and enemies. It provides methods for accessing and modifying
  * these elements.
  * </p>
+ * <p>
+ * The elements are held in an immutable {@link WorldSnapshot} published through an atomic
+ * reference. Readers take the current snapshot with {@link #getSnapshot()} and get a consistent
+ * view of the whole world without locking, even while another thread regenerates the map. Every
+ * modifying method builds a new snapshot (copy-on-write) and swaps it in with a single atomic
+ * step, so the lists returned by the getters are unmodifiable and never change under a reader.
+ * </p>
+ * <p>
+ * Each snapshot also indexes its villages by ID, so {@link #findVillageById(int)} does not scan
+ * the list. IDs that are small and non-negative go into a dense array slot; any other ID falls
+ * back to a map.
+ * </p>
+ * <p>
+ * Adding or removing a village or a mountain keeps the roads a minimum spanning tree of the
+ * villages, updated incrementally by {@link RoadNetwork} instead of regenerating the map.
+ * </p>
+ * <p>
+ * Each player session gets its own GameMap from the {@link WorldRegistry}.
+ * </p>
  */
-@Component
 public class GameMap {
 
-    private List<Mountain> mountains;
-    private List<Village> villages;
-    private List<Road> roads;
-    private List<Enemy> enemies;
-    private Village startingVillage;
+    private final AtomicReference<WorldSnapshot> world = new AtomicReference<>(WorldSnapshot.EMPTY);
 
     /**
      * <h1>GameMap Constructor</h1>
      * <p>
      * Constructs a new GameMap object.
-     * Initializes the lists of mountains, villages, roads, and enemies.
+     * Starts with an empty world: no mountains, villages, roads, or enemies.
      * </p>
      */
     public GameMap() {
-        this.villages = new ArrayList<>();
-        this.roads = new ArrayList<>();
-        this.mountains = new ArrayList<>();
-        this.enemies = new ArrayList<>();
+    }
+
+    /**
+     * <h1>GameMap Constructor</h1>
+     * <p>
+     * Constructs a new GameMap object holding the given world.
+     * A generator assembles the whole world first and publishes it here once, instead of adding
+     * the elements one by one.
+     * </p>
+     *
+     * @param world The initial world snapshot.
+     */
+    public GameMap(WorldSnapshot world) {
+        this.world.set(world);
+    }
+
+    /**
+     * <h1>getSnapshot Method</h1>
+     * <p>
+     * Gets the current world snapshot. Callers that read several parts of the map should take
+     * the snapshot once and read everything from it, so they do not mix two generations.
+     * </p>
+     *
+     * @return The current, immutable world snapshot.
+     */
+    public WorldSnapshot getSnapshot() {
+        return world.get();
+    }
+
+    /**
+     * <h1>replaceWith Method</h1>
+     * <p>
+     * Replaces the whole world with the current contents of another map in one atomic step.
+     * </p>
+     *
+     * @param other The map to copy the world from, e.g. a freshly generated one.
+     */
+    public void replaceWith(GameMap other) {
+        world.set(other.getSnapshot());
+    }
+
+    /**
+     * <h1>compareAndReplace Method</h1>
+     * <p>
+     * Replaces the world only if it is still the expected snapshot. This lets a caller regenerate
+     * the map without overwriting a world another thread published in the meantime.
+     * </p>
+     *
+     * @param expected    The snapshot the caller based its decision on.
+     * @param replacement The new world snapshot.
+     * @return True if the world was replaced, false if it had already changed.
+     */
+    public boolean compareAndReplace(WorldSnapshot expected, WorldSnapshot replacement) {
+        return world.compareAndSet(expected, replacement);
     }
 
     /**
      * Gets the list of mountains on the map.
      *
-     * @return The list of mountains.
+     * @return The unmodifiable list of mountains.
      */
     public List<Mountain> getMountains() {
-        return this.mountains;
+        return world.get().getMountains();
     }
 
     /**
      * Gets the list of villages on the map.
      *
-     * @return The list of villages.
+     * @return The unmodifiable list of villages.
      */
     public List<Village> getVillages() {
-        return this.villages;
+        return world.get().getVillages();
     }
 
     /**
      * Gets the list of roads on the map.
      *
-     * @return The list of roads.
+     * @return The unmodifiable list of roads.
      */
     public List<Road> getRoads() {
-        return this.roads;
+        return world.get().getRoads();
     }
 
     /**
      * Gets the list of enemies on the map.
      *
-     * @return The list of enemies.
+     * @return The unmodifiable list of enemies.
      */
     public List<Enemy> getEnemies() {
-        return this.enemies;
+        return world.get().getEnemies();
     }
 
     /**
@@ -86,7 +153,21 @@ public class GameMap {
      * @return The starting village.
      */
     public Village getStartingVillage() {
-        return this.startingVillage;
+        return world.get().getStartingVillage();
+    }
+
+    /**
+     * <h1>findVillageById Method</h1>
+     * <p>
+     * Finds a village by its ID in constant time. If several villages share an ID, the one that
+     * comes first in the village list is returned.
+     * </p>
+     *
+     * @param id The ID of the village.
+     * @return The village, or null if the map has no village with this ID.
+     */
+    public Village findVillageById(int id) {
+        return world.get().findVillageById(id);
     }
 
     /**
@@ -95,7 +176,7 @@ public class GameMap {
      * @param villages The new list of villages.
      */
     public void setVillages(List<Village> villages) {
-        this.villages = villages;
+        update(w -> new WorldSnapshot(w.mountains, villages, w.roads, w.enemies, w.startingVillage, w.seed));
     }
 
     /**
@@ -104,7 +185,7 @@ public class GameMap {
      * @param mountains The new list of mountains.
      */
     public void setMountains(List<Mountain> mountains) {
-        this.mountains = mountains;
+        update(w -> new WorldSnapshot(mountains, w.villages, w.roads, w.enemies, w.startingVillage, w.seed));
     }
 
     /**
@@ -113,7 +194,7 @@ public class GameMap {
      * @param roads The new list of roads.
      */
     public void setRoads(List<Road> roads) {
-        this.roads = roads;
+        update(w -> new WorldSnapshot(w.mountains, w.villages, roads, w.enemies, w.startingVillage, w.seed));
     }
 
     /**
@@ -122,7 +203,7 @@ public class GameMap {
      * @param enemies The new list of enemies.
      */
     public void setEnemies(List<Enemy> enemies) {
-        this.enemies = enemies;
+        update(w -> new WorldSnapshot(w.mountains, w.villages, w.roads, enemies, w.startingVillage, w.seed));
     }
 
     /**
@@ -131,16 +212,26 @@ public class GameMap {
      * @param startingVillage The new starting village.
      */
     public void setStartingVillage(Village startingVillage) {
-        this.startingVillage = startingVillage;
+        update(w -> new WorldSnapshot(w.mountains, w.villages, w.roads, w.enemies, startingVillage, w.seed));
     }
 
     /**
-     * Adds a new village to the map.
+     * Adds a new village to the map and connects it to the road network.
      *
      * @param newVillage The village to add.
      */
     public void addVillage(Village newVillage) {
-        this.villages.add(newVillage);
+        RoadNetwork.addVillage(this, newVillage);
+    }
+
+    /**
+     * Removes a village and its roads from the map, and reconnects the villages it linked.
+     *
+     * @param village The village to remove.
+     * @return True if the village was on the map.
+     */
+    public boolean removeVillage(Village village) {
+        return RoadNetwork.removeVillage(this, village);
     }
 
     /**
@@ -149,16 +240,26 @@ public class GameMap {
      * @param newRoad The road to add.
      */
     public void addRoad(Road newRoad) {
-        this.roads.add(newRoad);
+        update(w -> new WorldSnapshot(w.mountains, w.villages, append(w.roads, newRoad), w.enemies, w.startingVillage, w.seed));
     }
 
     /**
-     * Adds a new mountain to the map.
+     * Adds a new mountain to the map and reroutes the roads it blocks.
      *
      * @param newMountain The mountain to add.
      */
     public void addMountain(Mountain newMountain) {
-        this.mountains.add(newMountain);
+        RoadNetwork.addMountain(this, newMountain);
+    }
+
+    /**
+     * Removes a mountain from the map and lets the roads it blocked into the road network.
+     *
+     * @param mountain The mountain to remove.
+     * @return True if the mountain was on the map.
+     */
+    public boolean removeMountain(Mountain mountain) {
+        return RoadNetwork.removeMountain(this, mountain);
     }
 
     /**
@@ -167,17 +268,208 @@ public class GameMap {
      * @param newEnemy The enemy to add.
      */
     public void addEnemy(Enemy newEnemy) {
-        this.enemies.add(newEnemy);
+        update(w -> new WorldSnapshot(w.mountains, w.villages, w.roads, append(w.enemies, newEnemy), w.startingVillage, w.seed));
+    }
+
+    /**
+     * Gets the seed the world was generated from.
+     *
+     * @return The seed, or null if the world was not generated from a seed.
+     */
+    public Long getSeed() {
+        return world.get().getSeed();
+    }
+
+    /**
+     * Sets the seed the world was generated from.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(Long seed) {
+        update(w -> new WorldSnapshot(w.mountains, w.villages, w.roads, w.enemies, w.startingVillage, seed));
     }
 
     /**
      * Clears all the elements on the map.
      */
     public void clearMap() {
-        villages.clear();
-        roads.clear();
-        mountains.clear();
-        enemies.clear();
-        startingVillage = null;
+        world.set(WorldSnapshot.EMPTY);
+    }
+
+    /**
+     * Applies a copy-on-write change, retrying if another thread swapped the world first.
+     */
+    private void update(UnaryOperator<WorldSnapshot> change) {
+        world.updateAndGet(change);
+    }
+
+    private static <T> List<T> append(List<T> list, T element) {
+        List<T> copy = new ArrayList<>(list.size() + 1);
+        copy.addAll(list);
+        copy.add(element);
+        return copy;
+    }
+
+    /**
+     * <h1>WorldSnapshot</h1>
+     * <p>
+     * One immutable generation of the game world: the mountains, villages, roads, enemies, the
+     * starting village and the seed it was generated from, plus an ID index over the villages.
+     * </p>
+     * <p>
+     * The lists are copied on construction and exposed as unmodifiable views. The elements
+     * themselves (villages and their structures) are shared between snapshots.
+     * </p>
+     */
+    public static final class WorldSnapshot {
+
+        /**
+         * The empty world.
+         */
+        public static final WorldSnapshot EMPTY = new WorldSnapshot(null, null, null, null, null, null);
+
+        private final List<Mountain> mountains;
+        private final List<Village> villages;
+        private final List<Road> roads;
+        private final List<Enemy> enemies;
+        private final Village startingVillage;
+        private final Long seed;
+
+        // ID -> village: a dense array for small non-negative IDs, a map for the rest.
+        private final Village[] villageIndex;
+        private final Map<Integer, Village> sparseVillageIndex;
+
+        private WorldSnapshot(List<Mountain> mountains, List<Village> villages, List<Road> roads,
+                              List<Enemy> enemies, Village startingVillage, Long seed) {
+            this.mountains = freeze(mountains);
+            this.villages = freeze(villages);
+            this.roads = freeze(roads);
+            this.enemies = freeze(enemies);
+            this.startingVillage = startingVillage;
+            this.seed = seed;
+
+            // Dense slots are used while the array stays proportional to the number of villages.
+            int denseLimit = Math.max(64, 4 * this.villages.size());
+            int maxDenseId = -1;
+            for (Village village : this.villages) {
+                if (village.getId() >= 0 && village.getId() < denseLimit) {
+                    maxDenseId = Math.max(maxDenseId, village.getId());
+                }
+            }
+            Village[] index = new Village[maxDenseId + 1];
+            Map<Integer, Village> sparse = new HashMap<>();
+            for (Village village : this.villages) {
+                int id = village.getId();
+                if (id >= 0 && id < index.length) {
+                    if (index[id] == null) index[id] = village;
+                } else {
+                    sparse.putIfAbsent(id, village);
+                }
+            }
+            this.villageIndex = index;
+            this.sparseVillageIndex = sparse;
+        }
+
+        private static <T> List<T> freeze(List<T> list) {
+            if (list == null || list.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+
+        /**
+         * Builds a snapshot from the given world contents. The lists are copied.
+         *
+         * @param mountains       The mountains.
+         * @param villages        The villages.
+         * @param roads           The roads.
+         * @param enemies         The enemies.
+         * @param startingVillage The starting village.
+         * @param seed            The seed the world was generated from, or null.
+         * @return The snapshot.
+         */
+        public static WorldSnapshot of(List<Mountain> mountains, List<Village> villages, List<Road> roads,
+                                       List<Enemy> enemies, Village startingVillage, Long seed) {
+            return new WorldSnapshot(mountains, villages, roads, enemies, startingVillage, seed);
+        }
+
+        /**
+         * Gets the list of mountains.
+         *
+         * @return The unmodifiable list of mountains.
+         */
+        public List<Mountain> getMountains() {
+            return mountains;
+        }
+
+        /**
+         * Gets the list of villages.
+         *
+         * @return The unmodifiable list of villages.
+         */
+        public List<Village> getVillages() {
+            return villages;
+        }
+
+        /**
+         * Gets the list of roads.
+         *
+         * @return The unmodifiable list of roads.
+         */
+        public List<Road> getRoads() {
+            return roads;
+        }
+
+        /**
+         * Gets the list of enemies.
+         *
+         * @return The unmodifiable list of enemies.
+         */
+        public List<Enemy> getEnemies() {
+            return enemies;
+        }
+
+        /**
+         * Gets the starting village.
+         *
+         * @return The starting village, or null if there is none.
+         */
+        public Village getStartingVillage() {
+            return startingVillage;
+        }
+
+        /**
+         * Gets the seed the world was generated from.
+         *
+         * @return The seed, or null if the world was not generated from a seed.
+         */
+        public Long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Checks whether this world has no villages.
+         *
+         * @return True if there are no villages.
+         */
+        public boolean isEmpty() {
+            return villages.isEmpty();
+        }
+
+        /**
+         * Finds a village by its ID in constant time.
+         *
+         * @param id The ID of the village.
+         * @return The village, or null if there is no village with this ID.
+         */
+        public Village findVillageById(int id) {
+            if (id >= 0 && id < villageIndex.length) {
+                Village village = villageIndex[id];
+                if (village != null) {
+                    return village;
+                }
+            }
+            return sparseVillageIndex.get(id);
+        }
     }
 }
@@ -4,17 +4,27 @@ import com.example.demo.classes.Enemy;
 import com.example.demo.classes.Mountain;
 import com.example.demo.classes.Road;
 import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
 import com.example.demo.classes.villageClasses.Village;
 import com.example.demo.classes.villageClasses.VillageType;
+import com.example.demo.mechanics.generation.WorldSeed.Subsystem;
+import com.example.demo.mechanics.pathfinding.DisjointSet;
 import com.example.demo.mechanics.pathfinding.MSTBuilder;
 import com.example.demo.utils.GameUtils;
 import com.example.demo.utils.SpriteLoader;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * <h1>GameMapGenerator</h1>
@@ -30,13 +40,26 @@ import java.util.Random;
 @Component
 public class GameMapGenerator {
 
+    /**
+     * Logger instance for generation events.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(GameMapGenerator.class);
+
     private static final int MAX_MOUNTAINS = 20;
-    private static final int MOUNTAIN_RADIUS = 34;
+    static final int MOUNTAIN_RADIUS = 34;
     private static final int MAX_VILLAGES = 40;
     private static final int MIN_DISTANCE = 100;
     private static final int MAX_X = 820; // 900 - 80, map width minus sidebar
     private static final int MAX_Y = 820;
     private static final double ENEMY_SPAWN_CHANCE = 0.5;
+    private static final int MIN_PLACEMENT_X = 300;
+    private static final int MIN_PLACEMENT_Y = 10;
+    private static final int MAX_PLACEMENT_X = MIN_PLACEMENT_X + (MAX_X / 50 - 1) * 50;
+    private static final int MAX_PLACEMENT_Y = MIN_PLACEMENT_Y + (MAX_Y / 50 - 1) * 50;
+    private static final int MAX_PLACEMENT_ATTEMPTS = 1000; // per object, in RANDOM mode
+    private static final int POISSON_DISK_ROUNDS = 4; // full-map fills per group, in POISSON_DISK mode
+    private static final int PARALLEL_ROAD_THRESHOLD = 1024; // village pairs, below this roads are checked sequentially
+    private static final int PARALLEL_INTERIOR_THRESHOLD = 8; // villages, below this interiors are generated sequentially
 
     /**
      * <h1>generateMap Method</h1>
@@ -47,18 +70,76 @@ public class GameMapGenerator {
      * This method orchestrates the generation of the game map by calling the methods responsible
      * for generating mountains, villages, and roads/enemies.
      * </p>
+     * <p>
+     * Placed mountains and villages are also kept in {@link SpatialGrid}s with a cell size of
+     * {@code MIN_DISTANCE}, so each proximity check only looks at neighbouring cells instead of
+     * every object placed so far.
+     * </p>
      *
      * @return The generated game map.
      */
     public static GameMap generateMap() {
-        GameMap map = new GameMap();
-        Random rand = new Random();
+        return generateMap(PlacementMode.RANDOM);
+    }
+
+    /**
+     * <h1>generateMap Method</h1>
+     * <p>
+     * Generates a new game map, placing mountains and villages with the given mode.
+     * </p>
+     * <p>
+     * Both modes do a bounded amount of work. If the map cannot fit the requested number of
+     * mountains or villages, fewer are placed and a warning is printed.
+     * </p>
+     *
+     * @param placementMode How mountain and village positions are chosen.
+     * @return The generated game map.
+     */
+    public static GameMap generateMap(PlacementMode placementMode) {
+        return generateMap(WorldSeed.random().getSeed(), placementMode, true);
+    }
+
+    /**
+     * <h1>generateMap Method</h1>
+     * <p>
+     * Generates the game map of the given seed, placing mountains and villages with the given mode.
+     * </p>
+     * <p>
+     * The same seed and mode always produce the same world. Every part of the generation draws
+     * from its own {@link WorldSeed} stream: one for the mountains, one for village placement, one
+     * per village for its type, sprite and resources, one per village for its structures, one per
+     * village pair for the road weights, and one for the enemies. No stream depends on another's
+     * draws, so changing one part (or evaluating the roads in parallel) leaves the others as they were.
+     * </p>
+     * <p>
+     * The mountains, villages, roads and enemies are collected in local lists and published as a
+     * single {@link GameMap.WorldSnapshot}, so building a world costs one snapshot, not one per element.
+     * </p>
+     *
+     * @param seed           The world seed.
+     * @param placementMode  How mountain and village positions are chosen.
+     * @param lazyInteriors  Whether village interiors are left to be generated on first access.
+     * @return The generated game map, carrying its seed.
+     */
+    public static GameMap generateMap(long seed, PlacementMode placementMode, boolean lazyInteriors) {
+        WorldSeed worldSeed = new WorldSeed(seed);
+        SpatialGrid mountainGrid = new SpatialGrid(MIN_DISTANCE);
+        SpatialGrid villageGrid = new SpatialGrid(MIN_DISTANCE);
+
+        List<Mountain> mountains = generateMountains(placementMode, mountainGrid, villageGrid, worldSeed.stream(Subsystem.MOUNTAINS));
+
+        RandomGenerator placementRand = worldSeed.stream(Subsystem.VILLAGES);
+        List<Village> villages = generateVillages(placementMode, mountainGrid, villageGrid, worldSeed, placementRand);
+        // Pick a random starting village
+        Village startingVillage = villages.isEmpty() ? null : villages.get(placementRand.nextInt(villages.size()));
+
+        generateVillageInteriors(villages, worldSeed, lazyInteriors);
 
-        generateMountains(map, rand);
-        List<Village> villages = generateVillages(map, rand);
-        generateRoadsAndEnemies(map, villages, rand);
+        List<Road> roads = buildRoadNetwork(mountains, villages, worldSeed);
+        List<Enemy> enemies = createEnemiesOnRoads(roads, startingVillage, mountainGrid, worldSeed.stream(Subsystem.ENEMIES));
 
-        return map;
+        logger.info("Generated world from seed {}", seed);
+        return new GameMap(GameMap.WorldSnapshot.of(mountains, villages, roads, enemies, startingVillage, seed));
     }
 
     /**
@@ -71,51 +152,91 @@ public class GameMapGenerator {
      * placed at valid positions that are not too close to other mountains or villages.
      * </p>
      *
-     * @param map  The game map to add mountains to.
-     * @param rand The random number generator.
+     * @param placementMode How mountain positions are chosen.
+     * @param mountainGrid  The spatial index of placed mountains; new mountains are added to it.
+     * @param villageGrid   The spatial index of placed villages.
+     * @param rand          The random number generator of the mountains.
+     * @return The list of generated mountains.
      */
-    private static void generateMountains(GameMap map, Random rand) {
-        for (int i = 0; i < MAX_MOUNTAINS; i++) {
-            int x, y;
-            boolean validPosition;
-            do {
-                x = rand.nextInt(MAX_X / 50) * 50 + 300;
-                y = rand.nextInt(MAX_Y / 50) * 50 + 10;
-                validPosition = isValidMountainPosition(map, x, y);
-            } while (!validPosition);
+    private static List<Mountain> generateMountains(PlacementMode placementMode, SpatialGrid mountainGrid,
+                                                    SpatialGrid villageGrid, RandomGenerator rand) {
+        List<int[]> positions = choosePositions(placementMode, MAX_MOUNTAINS, mountainGrid, villageGrid, MIN_DISTANCE, rand, "mountains");
 
+        List<Mountain> mountains = new ArrayList<>(positions.size());
+        for (int[] position : positions) {
             String sprite = SpriteLoader.MOUNTAIN_SPRITES.get(rand.nextInt(SpriteLoader.MOUNTAIN_SPRITES.size()));
-            map.addMountain(new Mountain(x, y, sprite));
+            mountains.add(new Mountain(position[0], position[1], sprite));
         }
+        return mountains;
     }
 
     /**
-     * <h1>isValidMountainPosition Method</h1>
+     * <h1>choosePositions Method</h1>
      * <p>
-     * Checks if a given position is valid for placing a mountain.
+     * Chooses the positions of a group of objects (mountains or villages) and adds them to the
+     * group's spatial index.
      * </p>
      * <p>
-     * This method checks if a given position is valid for placing a mountain by ensuring that it is
-     * not too close to other mountains or villages.
+     * Objects of the same group keep {@code MIN_DISTANCE} from each other and {@code clearance}
+     * from the objects of the other group. In {@link PlacementMode#RANDOM} mode every object gets
+     * up to {@code MAX_PLACEMENT_ATTEMPTS} random lattice positions. In
+     * {@link PlacementMode#POISSON_DISK} mode the map is filled with a {@link PoissonDiskSampler}
+     * (up to {@code POISSON_DISK_ROUNDS} times if a fill holds too few points) and the needed
+     * number of points is picked at random from the densest fill. If fewer positions
+     * than requested can be found, a warning is printed and only those are returned.
      * </p>
      *
-     * @param map The game map.
-     * @param x   The x-coordinate of the mountain.
-     * @param y   The y-coordinate of the mountain.
-     * @return True if the position is valid, false otherwise.
+     * @param placementMode How positions are chosen.
+     * @param count         The requested number of objects.
+     * @param ownGrid       The spatial index of this group; chosen positions are added to it.
+     * @param otherGrid     The spatial index of the other group.
+     * @param clearance     The minimum distance to objects of the other group.
+     * @param rand          The random number generator.
+     * @param what          The name of the group, for the warning.
+     * @return The chosen positions as {@code {x, y}} pairs.
      */
-    private static boolean isValidMountainPosition(GameMap map, int x, int y) {
-        for (Mountain mountain : map.getMountains()) {
-            if (GameUtils.calculateDistance(x, y, mountain.getXCoordinate(), mountain.getYCoordinate()) < MIN_DISTANCE) {
-                return false;
+    private static List<int[]> choosePositions(PlacementMode placementMode, int count, SpatialGrid ownGrid,
+                                               SpatialGrid otherGrid, int clearance, RandomGenerator rand, String what) {
+        List<int[]> positions = new ArrayList<>();
+
+        if (placementMode == PlacementMode.POISSON_DISK) {
+            // Fill the whole map first so the picked points are spread evenly over it; a fill that
+            // comes out too sparse is retried a fixed number of times and the densest one is kept.
+            List<int[]> samples = new ArrayList<>();
+            for (int round = 0; round < POISSON_DISK_ROUNDS && samples.size() < count; round++) {
+                List<int[]> fill = PoissonDiskSampler.sample(MIN_PLACEMENT_X, MIN_PLACEMENT_Y, MAX_PLACEMENT_X, MAX_PLACEMENT_Y,
+                        MIN_DISTANCE, otherGrid, clearance, Integer.MAX_VALUE, rand);
+                if (fill.size() > samples.size()) {
+                    samples = fill;
+                }
             }
-        }
-        for (Village village : map.getVillages()) {
-            if (GameUtils.calculateDistance(x, y, village.getXCoordinate(), village.getYCoordinate()) < MIN_DISTANCE) {
-                return false;
+            GameUtils.shuffle(samples, rand);
+            for (int[] sample : samples.subList(0, Math.min(count, samples.size()))) {
+                positions.add(sample);
+                ownGrid.add(sample[0], sample[1]);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                boolean placed = false;
+                for (int attempt = 0; attempt < MAX_PLACEMENT_ATTEMPTS && !placed; attempt++) {
+                    int x = rand.nextInt(MAX_X / 50) * 50 + MIN_PLACEMENT_X;
+                    int y = rand.nextInt(MAX_Y / 50) * 50 + MIN_PLACEMENT_Y;
+                    if (!ownGrid.anyWithin(x, y, MIN_DISTANCE) && !otherGrid.anyWithin(x, y, clearance)) {
+                        positions.add(new int[]{x, y});
+                        ownGrid.add(x, y);
+                        placed = true;
+                    }
+                }
+                if (!placed) {
+                    break; // The map is full: later objects would fail as well.
+                }
             }
         }
-        return true;
+
+        if (positions.size() < count) {
+            logger.warn("Map too crowded: placed {} of {} {} ({} placement)", positions.size(), count, what, placementMode);
+        }
+        return positions;
     }
 
     /**
@@ -127,22 +248,27 @@ public class GameMapGenerator {
      * This method generates a specified number of villages on the map, ensuring that they are
      * placed at valid positions that are not too close to other villages or mountains.
      * </p>
+     * <p>
+     * Only the sequential, spatial part happens here: positions, types, sprites and resources.
+     * The structures inside the villages are left to {@link #generateVillageInteriors}.
+     * </p>
      *
-     * @param map  The game map to add villages to.
-     * @param rand The random number generator.
+     * @param placementMode How village positions are chosen.
+     * @param mountainGrid  The spatial index of placed mountains.
+     * @param villageGrid   The spatial index of placed villages; new villages are added to it.
+     * @param worldSeed     The world seed; each village draws from its own stream.
+     * @param placementRand The random number generator of village placement.
      * @return The list of generated villages.
      */
-    private static List<Village> generateVillages(GameMap map, Random rand) {
+    private static List<Village> generateVillages(PlacementMode placementMode, SpatialGrid mountainGrid,
+                                                  SpatialGrid villageGrid, WorldSeed worldSeed, RandomGenerator placementRand) {
         List<Village> villages = new ArrayList<>();
+        List<int[]> positions = choosePositions(placementMode, MAX_VILLAGES, villageGrid, mountainGrid, MOUNTAIN_RADIUS + 30, placementRand, "villages");
 
-        for (int i = 0; i < MAX_VILLAGES; i++) {
-            int x, y;
-            boolean validPosition;
-            do {
-                x = rand.nextInt(MAX_X / 50) * 50 + 300;
-                y = rand.nextInt(MAX_Y / 50) * 50 + 10;
-                validPosition = isValidVillagePosition(map, villages, x, y);
-            } while (!validPosition);
+        for (int i = 0; i < positions.size(); i++) {
+            int x = positions.get(i)[0];
+            int y = positions.get(i)[1];
+            RandomGenerator rand = worldSeed.stream(Subsystem.VILLAGES, i);
 
             VillageType type = VillageType.values()[rand.nextInt(VillageType.values().length)];
             String name = switch (type) {
@@ -151,52 +277,55 @@ public class GameMapGenerator {
                 case ARMOR -> "ArmorVillage";
                 case COMPOSITE -> "CompositeVillage";
             };
-            String sprite = SpriteLoader.getRandomVillageSprite();
+            String sprite = SpriteLoader.getRandomVillageSprite(rand);
 
             int structures = rand.nextInt(10) + 2;
-            Village village = new Village("Village" + i, i, structures, x, y, sprite, type);
-
-            generateStructuresForVillage(village, structures, rand);
-
-            villages.add(village);
-            map.addVillage(village);
+            villages.add(new Village("Village" + i, i, structures, x, y, sprite, type, rand));
         }
-
-        // Pick a random starting village
-        Village startingVillage = villages.get(rand.nextInt(villages.size()));
-        map.setStartingVillage(startingVillage);
-
         return villages;
     }
 
     /**
-     * <h1>isValidVillagePosition Method</h1>
+     * <h1>generateVillageInteriors Method</h1>
      * <p>
-     * Checks if a given position is valid for placing a village.
+     * Gives every village the generator and seed of its structure graph, and builds the graphs
+     * unless they are lazy.
      * </p>
      * <p>
-     * This method checks if a given position is valid for placing a village by ensuring that it is
-     * not too close to other villages or mountains.
+     * Each village draws from its own {@link WorldSeed} stream, so its interior can be built at
+     * any time and always comes out the same. Lazy interiors are built by the village itself on
+     * first access (most are never opened), and can be evicted and rebuilt. Otherwise, once a
+     * village is placed its structure graph depends on nothing else, so with at least
+     * {@code PARALLEL_INTERIOR_THRESHOLD} villages the interiors are built as a parallel stream on
+     * the common fork-join pool. Every task only touches its own village.
      * </p>
      *
-     * @param map      The game map.
-     * @param villages The list of existing villages.
-     * @param x        The x-coordinate of the village.
-     * @param y        The y-coordinate of the village.
-     * @return True if the position is valid, false otherwise.
+     * @param villages  The placed villages.
+     * @param worldSeed The world seed.
+     * @param lazy      Whether to leave the interiors to be built on first access.
      */
-    private static boolean isValidVillagePosition(GameMap map, List<Village> villages, int x, int y) {
-        for (Village existing : villages) {
-            if (GameUtils.calculateDistance(x, y, existing.getXCoordinate(), existing.getYCoordinate()) < MIN_DISTANCE) {
-                return false;
-            }
+    private static void generateVillageInteriors(List<Village> villages, WorldSeed worldSeed, boolean lazy) {
+        generateVillageInteriors(villages, worldSeed, lazy, villages.size() >= PARALLEL_INTERIOR_THRESHOLD);
+    }
+
+    /**
+     * Gives every village the generator and seed of its structure graph, and builds the graphs
+     * unless they are lazy, in parallel or one after the other.
+     */
+    static void generateVillageInteriors(List<Village> villages, WorldSeed worldSeed, boolean lazy, boolean parallel) {
+        for (int i = 0; i < villages.size(); i++) {
+            villages.get(i).setInteriorGenerator(worldSeed.seedOf(Subsystem.VILLAGE_INTERIOR, i),
+                    (village, rand) -> generateStructuresForVillage(village, village.getStructures(), rand));
         }
-        for (Mountain mountain : map.getMountains()) {
-            if (GameUtils.calculateDistance(x, y, mountain.getXCoordinate(), mountain.getYCoordinate()) < MOUNTAIN_RADIUS + 30) {
-                return false;
-            }
+        if (lazy) {
+            return;
         }
-        return true;
+
+        IntStream indices = IntStream.range(0, villages.size());
+        if (parallel) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> villages.get(i).getStructuresList());
     }
 
     /**
@@ -214,8 +343,9 @@ public class GameMapGenerator {
      * @param nodeCount The number of structure nodes to generate.
      * @param rand      The random number generator.
      */
-    private static void generateStructuresForVillage(Village village, int nodeCount, Random rand) {
+    private static void generateStructuresForVillage(Village village, int nodeCount, RandomGenerator rand) {
         List<StructureNode> nodes = new ArrayList<>();
+        List<StructureRoad> roads = new ArrayList<>();
 
         // Step 0: Determine if this is a full positive graph
         boolean fullPositiveMode = false;
@@ -230,7 +360,7 @@ public class GameMapGenerator {
         for (int id = 0; id < nodeCount; id++) {
             int structureX = rand.nextInt(250) + 50;
             int structureY = rand.nextInt(250) + 50;
-            String sprite = SpriteLoader.getRandomStructureSprite(village.getType());
+            String sprite = SpriteLoader.getRandomStructureSprite(village.getType(), rand);
             nodes.add(new StructureNode(id, structureX, structureY, sprite));
         }
 
@@ -242,7 +372,7 @@ public class GameMapGenerator {
             int weight = rand.nextInt(15) - 5;
             if (fullPositiveMode) weight = Math.abs(weight) + 1;
 
-            from.connectTo(to, weight);
+            roads.add(from.connectTo(to, weight));
         }
 
         // Step 3: Add extra random connections (optional)
@@ -254,7 +384,7 @@ public class GameMapGenerator {
                 if (to != node) { // avoid self-loops unless you want them
                     int weight = rand.nextInt(15) - 5;
                     if (fullPositiveMode) weight = Math.abs(weight) + 1;
-                    node.connectTo(to, weight);
+                    roads.add(node.connectTo(to, weight));
                 }
             }
         }
@@ -269,53 +399,170 @@ public class GameMapGenerator {
             int weight2 = fullPositiveMode ? 2 : 2;
             int weight3 = fullPositiveMode ? 10 : -10; // close cycle
 
-            a.connectTo(b, weight1);
-            b.connectTo(c, weight2);
-            c.connectTo(a, weight3);
+            roads.add(a.connectTo(b, weight1));
+            roads.add(b.connectTo(c, weight2));
+            roads.add(c.connectTo(a, weight3));
         }
 
         // Step 5: Save nodes to village
-        village.getStructuresList().addAll(nodes);
-        village.getStructureGraph().addAll(nodes);
+        village.setStructuresList(nodes);
+        village.setStructureGraph(new ArrayList<>(nodes));
+        village.setStructureRoads(roads);
     }
 
 
     /**
-     * <h1>generateRoadsAndEnemies Method</h1>
+     * <h1>buildRoadNetwork Method</h1>
      * <p>
-     * Generates roads and enemies on the map.
+     * Builds the minimum spanning road network of the villages from scratch, from the Delaunay
+     * candidates plus bridge roads if the mountains split them. The tree is chosen by
+     * straight-line length; the returned roads carry their full weight, detour included.
      * </p>
      * <p>
-     * This method generates roads between villages using a Minimum Spanning Tree (MST) algorithm,
-     * and then creates enemies on the roads.
+     * Only the edges of the Delaunay triangulation of the villages are offered to Kruskal as
+     * candidate roads, after dropping those that cross a mountain. Kruskal compares the
+     * straight-line lengths of the roads, and the random detour of each road is only added to the
+     * roads it picked. The Euclidean MST always lies within the Delaunay triangulation, and it has
+     * O(V) edges instead of O(V²) village pairs, so with no mountain in the way the result is
+     * exactly the all-pairs Euclidean MST. A mountain that blocks a Delaunay edge can hide a road
+     * the all-pairs version would have used; then the result is an approximation, still a
+     * spanning tree of the unblocked roads. If the mountains cut the candidates into several
+     * groups, the pairs between those groups are added as extra candidates so the road network
+     * still connects every reachable village.
      * </p>
      *
-     * @param map      The game map to add roads and enemies to.
-     * @param villages The list of villages on the map.
-     * @param rand     The random number generator.
+     * @param mountains The mountains roads must not cross.
+     * @param villages  The villages to connect.
+     * @param worldSeed The world seed for the road weights.
+     * @return The roads of the network.
      */
-    private static void generateRoadsAndEnemies(GameMap map, List<Village> villages, Random rand) {
-        List<Road> allRoads = new ArrayList<>();
+    static List<Road> buildRoadNetwork(List<Mountain> mountains, List<Village> villages, WorldSeed worldSeed) {
+        List<Road> candidateRoads = generateCandidateRoads(mountains, villages);
+        List<Road> mstRoads = MSTBuilder.buildMST(villages, candidateRoads);
+
+        if (mstRoads.size() < villages.size() - 1) {
+            candidateRoads.addAll(generateBridgeRoads(mountains, villages, mstRoads));
+            mstRoads = MSTBuilder.buildMST(villages, candidateRoads);
+        }
+
+        List<Road> roads = new ArrayList<>(mstRoads.size());
+        for (Road road : mstRoads) {
+            roads.add(buildRoad(road.getFromVillage(), road.getToVillage(), worldSeed));
+        }
+        return roads;
+    }
 
+    /**
+     * <h1>generateCandidateRoads Method</h1>
+     * <p>
+     * Builds a road for every Delaunay edge between the villages that does not cross a mountain.
+     * </p>
+     *
+     * @param mountains The mountains on the map.
+     * @param villages  The list of villages on the map.
+     * @return The candidate roads, weighted by their straight-line length.
+     */
+    private static List<Road> generateCandidateRoads(List<Mountain> mountains, List<Village> villages) {
+        int[] xs = new int[villages.size()];
+        int[] ys = new int[villages.size()];
         for (int i = 0; i < villages.size(); i++) {
-            for (int j = i + 1; j < villages.size(); j++) {
-                Village v1 = villages.get(i);
-                Village v2 = villages.get(j);
+            xs[i] = villages.get(i).getXCoordinate();
+            ys[i] = villages.get(i).getYCoordinate();
+        }
 
-                if (!doesRoadIntersectMountain(map, v1, v2)) {
-                    int weight = GameUtils.calculateDistance(v1, v2);
-                    allRoads.add(new Road(v1, v2, weight));
-                }
-            }
+        List<int[]> edges = DelaunayTriangulation.edges(xs, ys);
+        return evaluateRoads(mountains, villages, IntStream.range(0, edges.size()).mapToObj(edges::get), edges.size());
+    }
+
+    /**
+     * <h1>generateBridgeRoads Method</h1>
+     * <p>
+     * Builds the roads between villages that the given roads leave in different groups, skipping
+     * those that cross a mountain. Only needed when mountains split the Delaunay candidates.
+     * </p>
+     *
+     * @param mountains The mountains on the map.
+     * @param villages  The list of villages on the map.
+     * @param roads     The roads built so far.
+     * @return The roads between villages of different groups, weighted by their straight-line length.
+     */
+    private static List<Road> generateBridgeRoads(List<Mountain> mountains, List<Village> villages, List<Road> roads) {
+        Map<Village, Integer> index = new HashMap<>();
+        for (int i = 0; i < villages.size(); i++) {
+            index.put(villages.get(i), i);
+        }
+        DisjointSet groups = new DisjointSet(villages.size());
+        for (Road road : roads) {
+            groups.union(index.get(road.getFromVillage()), index.get(road.getToVillage()));
+        }
+        // Resolve the groups up front: find() compresses paths, so it must not run on several threads.
+        int[] group = new int[villages.size()];
+        for (int i = 0; i < group.length; i++) {
+            group[i] = groups.find(i);
         }
 
-        List<Road> mstRoads = MSTBuilder.buildMST(villages, allRoads);
+        int n = villages.size();
+        Stream<int[]> pairs = IntStream.range(0, n).boxed()
+                .flatMap(i -> IntStream.range(i + 1, n)
+                        .filter(j -> group[i] != group[j])
+                        .mapToObj(j -> new int[]{i, j}));
+        List<Road> bridgeRoads = evaluateRoads(mountains, villages, pairs, (long) n * (n - 1) / 2);
+        logger.debug("Mountains split the candidate roads, added {} bridge roads", bridgeRoads.size());
+        return bridgeRoads;
+    }
 
-        for (Road road : mstRoads) {
-            map.addRoad(road);
+    /**
+     * <h1>evaluateRoads Method</h1>
+     * <p>
+     * Turns village pairs into candidate roads weighted by their straight-line length, dropping
+     * the pairs whose road would cross a mountain.
+     * </p>
+     * <p>
+     * Each pair is checked on its own, so with at least {@code PARALLEL_ROAD_THRESHOLD} pairs the
+     * checks run as a parallel stream on the common fork-join pool. The stream is ordered and
+     * collected with per-thread lists that are joined in encounter order, so the result lists the
+     * roads in pair order no matter how the work was scheduled.
+     * </p>
+     *
+     * @param mountains The mountains on the map.
+     * @param villages  The list of villages on the map.
+     * @param pairs     The village index pairs, in the order the roads should be listed.
+     * @param pairCount The (estimated) number of pairs, used to decide whether to go parallel.
+     * @return The roads that do not cross a mountain, in pair order.
+     */
+    private static List<Road> evaluateRoads(List<Mountain> mountains, List<Village> villages, Stream<int[]> pairs, long pairCount) {
+        if (pairCount >= PARALLEL_ROAD_THRESHOLD) {
+            pairs = pairs.parallel();
         }
+        return pairs
+                .filter(pair -> !doesRoadIntersectMountain(mountains, villages.get(pair[0]), villages.get(pair[1])))
+                .map(pair -> {
+                    Village v1 = villages.get(pair[0]);
+                    Village v2 = villages.get(pair[1]);
+                    return new Road(v1, v2, GameUtils.calculateDistance(v1.getXCoordinate(), v1.getYCoordinate(),
+                            v2.getXCoordinate(), v2.getYCoordinate()));
+                })
+                .collect(Collectors.toList());
+    }
 
-        createEnemiesOnRoads(map, mstRoads, map.getStartingVillage(), rand);
+    /**
+     * <h1>buildRoad Method</h1>
+     * <p>
+     * Builds the road between two villages, with its full weight: the straight-line distance plus
+     * a random detour. The detour comes from a stream keyed by the two village IDs, so the same
+     * road always gets the same weight, whenever and in whichever direction it is built.
+     * </p>
+     *
+     * @param v1        The first village.
+     * @param v2        The second village.
+     * @param worldSeed The world seed for the road weight.
+     * @return The road.
+     */
+    static Road buildRoad(Village v1, Village v2, WorldSeed worldSeed) {
+        long low = Math.min(v1.getId(), v2.getId());
+        long high = Math.max(v1.getId(), v2.getId());
+        RandomGenerator rand = worldSeed.stream(Subsystem.ROADS, (low << 32) | (high & 0xffffffffL));
+        return new Road(v1, v2, GameUtils.calculateDistance(v1, v2, rand));
     }
 
     /**
@@ -324,16 +571,16 @@ public class GameMapGenerator {
      * Checks if a road between two villages intersects a mountain.
      * </p>
      * <p>
-     * This method checks if a road between two villages intersects any mountain on the map.
+     * This method checks if a road between two villages intersects any of the given mountains.
      * </p>
      *
-     * @param map The game map.
-     * @param v1  The first village.
-     * @param v2  The second village.
+     * @param mountains The mountains on the map.
+     * @param v1        The first village.
+     * @param v2        The second village.
      * @return True if the road intersects a mountain, false otherwise.
      */
-    private static boolean doesRoadIntersectMountain(GameMap map, Village v1, Village v2) {
-        for (Mountain mountain : map.getMountains()) {
+    static boolean doesRoadIntersectMountain(List<Mountain> mountains, Village v1, Village v2) {
+        for (Mountain mountain : mountains) {
             if (GameUtils.lineIntersectsCircle(
                     v1.getXCoordinate(), v1.getYCoordinate(),
                     v2.getXCoordinate(), v2.getYCoordinate(),
@@ -356,12 +603,17 @@ public class GameMapGenerator {
      * The level of the enemy is determined by its distance from the starting village.
      * </p>
      *
-     * @param map           The game map to add enemies to.
      * @param mstRoads      The list of roads on the map.
      * @param startingVillage The starting village.
+     * @param mountainGrid  The spatial index of the mountains.
      * @param rand          The random number generator.
+     * @return The list of created enemies.
      */
-    private static void createEnemiesOnRoads(GameMap map, List<Road> mstRoads, Village startingVillage, Random rand) {
+    private static List<Enemy> createEnemiesOnRoads(List<Road> mstRoads, Village startingVillage, SpatialGrid mountainGrid, RandomGenerator rand) {
+        List<Enemy> enemies = new ArrayList<>();
+        if (startingVillage == null) {
+            return enemies;
+        }
         for (Road road : mstRoads) {
             int midX = (road.getFromVillage().getXCoordinate() + road.getToVillage().getXCoordinate()) / 2;
             int midY = (road.getFromVillage().getYCoordinate() + road.getToVillage().getYCoordinate()) / 2;
@@ -371,16 +623,16 @@ public class GameMapGenerator {
             }
 
             if (rand.nextDouble() < ENEMY_SPAWN_CHANCE) {
-                boolean valid = map.getMountains().stream()
-                        .noneMatch(mountain -> GameUtils.calculateDistance(midX, midY, mountain.getXCoordinate(), mountain.getYCoordinate()) < MOUNTAIN_RADIUS + 20);
+                boolean valid = !mountainGrid.anyWithin(midX, midY, MOUNTAIN_RADIUS + 20);
 
                 if (valid) {
                     int distanceFromStart = GameUtils.calculateDistance(midX, midY, startingVillage.getXCoordinate(), startingVillage.getYCoordinate());
                     int level = Math.max(1, distanceFromStart / 100);
                     String sprite = SpriteLoader.ENEMY_SPRITES.get(rand.nextInt(SpriteLoader.ENEMY_SPRITES.size()));
-                    map.addEnemy(new Enemy(midX, midY, level, sprite));
+                    enemies.add(new Enemy(midX, midY, level, sprite));
                 }
             }
         }
+        return enemies;
     }
 }
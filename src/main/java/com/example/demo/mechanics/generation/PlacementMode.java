@@ -0,0 +1,20 @@
+package com.example.demo.mechanics.generation;
+
+/**
+ * <h1>PlacementMode</h1>
+ * <p>
+ * Selects how {@link GameMapGenerator} picks the positions of mountains and villages.
+ * </p>
+ * <p>
+ * {@link #RANDOM} is the original rejection loop: random points on a 50-pixel lattice are drawn
+ * until one is far enough from everything placed so far. Each object gets a fixed number of
+ * attempts, so a crowded map places fewer objects instead of looping forever.
+ * {@link #POISSON_DISK} fills the map with {@link PoissonDiskSampler} and picks the needed number
+ * of points from the result, which spreads objects evenly and has a fixed upper bound on work.
+ * The mode is chosen with the {@code game.generation.placement-mode} property.
+ * </p>
+ */
+public enum PlacementMode {
+    RANDOM,
+    POISSON_DISK
+}
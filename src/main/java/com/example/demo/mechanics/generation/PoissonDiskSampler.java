@@ -0,0 +1,132 @@
+package com.example.demo.mechanics.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * <h1>PoissonDiskSampler</h1>
+ * <p>
+ * Bridson-style Poisson-disk sampling of integer points in a rectangle.
+ * </p>
+ * <p>
+ * Every accepted point is at least {@code radius} away from every other accepted point and at
+ * least {@code clearance} away from every obstacle. Starting from a random seed, the sampler keeps
+ * a list of active points; for a random active point it tries up to {@link #CANDIDATES_PER_POINT}
+ * candidates in a thin ring just outside {@code radius} around it, accepts the first one that fits,
+ * and retires the point when none does. The ring is narrower than the {@code radius..2 * radius} of
+ * the original algorithm ({@link #RING_WIDTH}), which packs the points more tightly, so more
+ * objects fit on the same map. When the active list runs dry it tries a
+ * few fresh random seeds, so regions cut off by obstacles are filled as well.
+ * </p>
+ * <p>
+ * The work is bounded up front: every accepted point costs at most {@link #CANDIDATES_PER_POINT}
+ * candidate checks before it is retired, at most {@link #SEED_ATTEMPTS} random seeds are checked
+ * in total, and sampling stops at {@code maxPoints}. Each check is a constant-time
+ * {@link SpatialGrid} lookup.
+ * </p>
+ */
+public final class PoissonDiskSampler {
+
+    /**
+     * Candidates tried around an active point before it is retired (Bridson's k).
+     */
+    static final int CANDIDATES_PER_POINT = 30;
+
+    /**
+     * Width of the candidate ring, as a fraction of the radius.
+     */
+    static final double RING_WIDTH = 0.05;
+
+    /**
+     * Random seeds tried when the active list runs dry.
+     */
+    static final int SEED_ATTEMPTS = 60;
+
+    private PoissonDiskSampler() {
+    }
+
+    /**
+     * <h1>sample Method</h1>
+     * <p>
+     * Fills the rectangle {@code [minX, maxX] x [minY, maxY]} with Poisson-disk points.
+     * </p>
+     *
+     * @param minX      The smallest x-coordinate.
+     * @param minY      The smallest y-coordinate.
+     * @param maxX      The largest x-coordinate.
+     * @param maxY      The largest y-coordinate.
+     * @param radius    The minimum distance between two sampled points.
+     * @param obstacles Points the samples must keep clear of, or null.
+     * @param clearance The minimum distance between a sample and an obstacle.
+     * @param maxPoints The maximum number of points to return.
+     * @param rand      The random number generator.
+     * @return The sampled points as {@code {x, y}} pairs, in the order they were accepted.
+     */
+    public static List<int[]> sample(int minX, int minY, int maxX, int maxY, int radius,
+                                     SpatialGrid obstacles, int clearance, int maxPoints, RandomGenerator rand) {
+        List<int[]> points = new ArrayList<>();
+        if (maxX < minX || maxY < minY || maxPoints <= 0) {
+            return points;
+        }
+
+        SpatialGrid placed = new SpatialGrid(Math.max(1, radius));
+        List<int[]> active = new ArrayList<>();
+        int seedsLeft = SEED_ATTEMPTS;
+
+        while (points.size() < maxPoints) {
+            if (active.isEmpty()) {
+                if (seedsLeft == 0) {
+                    break;
+                }
+                // A fresh seed anywhere on the map; a few of them are allowed to fail.
+                boolean seeded = false;
+                for (int attempt = 0; attempt < CANDIDATES_PER_POINT && seedsLeft > 0 && !seeded; attempt++) {
+                    seedsLeft--;
+                    int x = minX + rand.nextInt(maxX - minX + 1);
+                    int y = minY + rand.nextInt(maxY - minY + 1);
+                    if (fits(x, y, radius, placed, obstacles, clearance)) {
+                        accept(x, y, placed, points, active);
+                        seeded = true;
+                    }
+                }
+                continue;
+            }
+
+            int slot = rand.nextInt(active.size());
+            int[] origin = active.get(slot);
+            boolean found = false;
+            for (int attempt = 0; attempt < CANDIDATES_PER_POINT; attempt++) {
+                double angle = rand.nextDouble() * 2 * Math.PI;
+                double distance = radius * (1 + RING_WIDTH * rand.nextDouble());
+                int x = (int) Math.round(origin[0] + distance * Math.cos(angle));
+                int y = (int) Math.round(origin[1] + distance * Math.sin(angle));
+                if (x < minX || x > maxX || y < minY || y > maxY) continue;
+                if (fits(x, y, radius, placed, obstacles, clearance)) {
+                    accept(x, y, placed, points, active);
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                // Swap-remove: the order of the active list does not matter.
+                active.set(slot, active.get(active.size() - 1));
+                active.remove(active.size() - 1);
+            }
+        }
+
+        return points;
+    }
+
+    private static boolean fits(int x, int y, int radius, SpatialGrid placed, SpatialGrid obstacles, int clearance) {
+        return !placed.anyWithin(x, y, radius)
+                && (obstacles == null || !obstacles.anyWithin(x, y, clearance));
+    }
+
+    private static void accept(int x, int y, SpatialGrid placed, List<int[]> points, List<int[]> active) {
+        int[] point = {x, y};
+        placed.add(x, y);
+        points.add(point);
+        active.add(point);
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.classes.Enemy;
+import com.example.demo.classes.Mountain;
+import com.example.demo.classes.Road;
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.mechanics.pathfinding.DisjointSet;
+import com.example.demo.mechanics.pathfinding.MSTBuilder;
+import com.example.demo.utils.GameUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <h1>RoadNetwork</h1>
+ * <p>
+ * Keeps the road network of a live map a minimum spanning tree while villages and mountains are
+ * added or removed, without regenerating the map.
+ * </p>
+ * <p>
+ * As in {@link GameMapGenerator#buildRoadNetwork}, the tree is chosen by the straight-line length
+ * of the roads, and every road keeps its full weight, detour included. Every edit re-runs Kruskal
+ * over the current roads plus only the candidate roads the edit can make useful, instead of the
+ * O(V²) village pairs of a rebuild:
+ * </p>
+ * <ul>
+ *   <li>Adding a village offers the roads from it to every other village that do not cross a
+ *   mountain: O(V) candidates. Any other pair was already worse than the current tree.</li>
+ *   <li>Removing a village, or adding a mountain that blocks roads, keeps every other road in the
+ *   tree and splits it into pieces. The pieces are rejoined with the roads from the villages of
+ *   every piece but the largest to the villages of the other pieces, so the work grows with the
+ *   part of the tree that was cut off, not with the whole map.</li>
+ *   <li>Removing a mountain offers the roads it used to block. A road longer than the longest road
+ *   of the tree cannot replace any of them, so on a connected map only the villages within that
+ *   length of the mountain are paired.</li>
+ * </ul>
+ * <p>
+ * Each edit keeps the network a minimum spanning tree (a forest, if mountains cut the map) of the
+ * roads that do not cross a mountain, the same tree a rebuild from all pairs would find.
+ * Enemies standing on roads that disappear are removed with them. Every edit is applied as one
+ * copy-on-write swap of the map's {@link GameMap.WorldSnapshot}, retried if another thread
+ * changed the map in the meantime.
+ * </p>
+ */
+public final class RoadNetwork {
+
+    private RoadNetwork() {
+    }
+
+    /**
+     * <h1>addVillage Method</h1>
+     * <p>
+     * Adds a village to the map and connects it to the road network.
+     * </p>
+     *
+     * @param map     The game map.
+     * @param village The new village.
+     */
+    public static void addVillage(GameMap map, Village village) {
+        edit(map, world -> {
+            List<Village> villages = new ArrayList<>(world.getVillages());
+            villages.add(village);
+
+            List<Road> candidates = new ArrayList<>();
+            for (Village other : world.getVillages()) {
+                if (!GameMapGenerator.doesRoadIntersectMountain(world.getMountains(), village, other)) {
+                    candidates.add(straightRoad(village, other));
+                }
+            }
+            List<Road> roads = spanningRoads(villages, world.getRoads(), candidates, worldSeed(world));
+
+            return withNetwork(world, world.getMountains(), villages, roads, world.getStartingVillage());
+        });
+    }
+
+    /**
+     * <h1>removeVillage Method</h1>
+     * <p>
+     * Removes a village and its roads from the map and reconnects the villages it linked.
+     * If it was the starting village, the first remaining village becomes the starting village.
+     * </p>
+     *
+     * @param map     The game map.
+     * @param village The village to remove.
+     * @return True if the village was on the map.
+     */
+    public static boolean removeVillage(GameMap map, Village village) {
+        boolean[] found = {false};
+        edit(map, world -> {
+            found[0] = world.getVillages().contains(village);
+            if (!found[0]) {
+                return world;
+            }
+            List<Village> villages = new ArrayList<>(world.getVillages());
+            villages.remove(village);
+
+            List<Road> kept = new ArrayList<>();
+            Set<Village> looseEnds = new LinkedHashSet<>();
+            for (Road road : world.getRoads()) {
+                if (road.getFromVillage() == village) {
+                    looseEnds.add(road.getToVillage());
+                } else if (road.getToVillage() == village) {
+                    looseEnds.add(road.getFromVillage());
+                } else {
+                    kept.add(road);
+                }
+            }
+            List<Road> roads = reconnect(villages, kept, looseEnds, world.getMountains(), worldSeed(world));
+
+            Village start = world.getStartingVillage();
+            if (start == village) {
+                start = villages.isEmpty() ? null : villages.get(0);
+            }
+            return withNetwork(world, world.getMountains(), villages, roads, start);
+        });
+        return found[0];
+    }
+
+    /**
+     * <h1>addMountain Method</h1>
+     * <p>
+     * Adds a mountain to the map, removes the roads it blocks and reroutes around it.
+     * </p>
+     *
+     * @param map      The game map.
+     * @param mountain The new mountain.
+     */
+    public static void addMountain(GameMap map, Mountain mountain) {
+        edit(map, world -> {
+            List<Mountain> mountains = new ArrayList<>(world.getMountains());
+            mountains.add(mountain);
+            List<Mountain> justThis = List.of(mountain);
+
+            List<Road> kept = new ArrayList<>();
+            Set<Village> looseEnds = new LinkedHashSet<>();
+            for (Road road : world.getRoads()) {
+                if (GameMapGenerator.doesRoadIntersectMountain(justThis, road.getFromVillage(), road.getToVillage())) {
+                    looseEnds.add(road.getFromVillage());
+                    looseEnds.add(road.getToVillage());
+                } else {
+                    kept.add(road);
+                }
+            }
+            List<Road> roads = reconnect(world.getVillages(), kept, looseEnds, mountains, worldSeed(world));
+
+            return withNetwork(world, mountains, world.getVillages(), roads, world.getStartingVillage());
+        });
+    }
+
+    /**
+     * <h1>removeMountain Method</h1>
+     * <p>
+     * Removes a mountain from the map and lets the roads it blocked into the network where they are shorter.
+     * </p>
+     *
+     * @param map      The game map.
+     * @param mountain The mountain to remove.
+     * @return True if the mountain was on the map.
+     */
+    public static boolean removeMountain(GameMap map, Mountain mountain) {
+        boolean[] found = {false};
+        edit(map, world -> {
+            found[0] = world.getMountains().contains(mountain);
+            if (!found[0]) {
+                return world;
+            }
+            List<Mountain> mountains = new ArrayList<>(world.getMountains());
+            mountains.remove(mountain);
+            int mountainX = mountain.getXCoordinate();
+            int mountainY = mountain.getYCoordinate();
+
+            // A road through the mountain that is longer than every tree road cannot replace one, and
+            // such a road has both ends within its length (plus the radius) of the mountain. Across
+            // the parts of a split map any length can help, so then every village is paired.
+            List<Village> around = new ArrayList<>();
+            if (world.getRoads().size() == world.getVillages().size() - 1) {
+                long reach = GameMapGenerator.MOUNTAIN_RADIUS + 1;
+                for (Road road : world.getRoads()) {
+                    reach = Math.max(reach, length(road) + GameMapGenerator.MOUNTAIN_RADIUS + 1L);
+                }
+                for (Village village : world.getVillages()) {
+                    if (squaredDistance(village, mountainX, mountainY) <= reach * reach) {
+                        around.add(village);
+                    }
+                }
+            } else {
+                around.addAll(world.getVillages());
+            }
+
+            List<Road> candidates = new ArrayList<>();
+            for (int i = 0; i < around.size(); i++) {
+                for (int j = i + 1; j < around.size(); j++) {
+                    Village v1 = around.get(i);
+                    Village v2 = around.get(j);
+                    if (GameUtils.lineIntersectsCircle(v1.getXCoordinate(), v1.getYCoordinate(),
+                            v2.getXCoordinate(), v2.getYCoordinate(), mountainX, mountainY, GameMapGenerator.MOUNTAIN_RADIUS)
+                            && !GameMapGenerator.doesRoadIntersectMountain(mountains, v1, v2)) {
+                        candidates.add(straightRoad(v1, v2));
+                    }
+                }
+            }
+            List<Road> roads = spanningRoads(world.getVillages(), world.getRoads(), candidates, worldSeed(world));
+
+            return withNetwork(world, mountains, world.getVillages(), roads, world.getStartingVillage());
+        });
+        return found[0];
+    }
+
+    /**
+     * Applies an edit as a compare-and-swap of the whole world, recomputing it if the map changed meanwhile.
+     */
+    private static void edit(GameMap map, Function<GameMap.WorldSnapshot, GameMap.WorldSnapshot> change) {
+        while (true) {
+            GameMap.WorldSnapshot world = map.getSnapshot();
+            GameMap.WorldSnapshot next = change.apply(world);
+            if (next == world || map.compareAndReplace(world, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * <h1>reconnect Method</h1>
+     * <p>
+     * Rejoins a road network that lost some roads. The kept roads split the villages into
+     * pieces; only the pieces holding a loose end were cut apart, since the others are whole trees
+     * no road could reach before either. Every pair between two cut pieces has a village outside
+     * the largest cut piece, so offering the roads from those villages to the other cut pieces
+     * lets Kruskal find the cheapest way to rejoin them.
+     * </p>
+     */
+    private static List<Road> reconnect(List<Village> villages, List<Road> kept, Set<Village> looseEnds,
+                                        List<Mountain> mountains, WorldSeed seed) {
+        if (looseEnds.isEmpty()) {
+            return kept;
+        }
+        Map<Village, Integer> index = indexOf(villages);
+        DisjointSet pieces = components(index, kept);
+        int[] piece = new int[villages.size()];
+        for (int i = 0; i < piece.length; i++) {
+            piece[i] = pieces.find(i);
+        }
+
+        Map<Integer, Integer> cutSizes = new HashMap<>();
+        for (Village end : looseEnds) {
+            cutSizes.put(piece[index.get(end)], 0);
+        }
+        if (cutSizes.size() < 2) {
+            return kept;
+        }
+        for (int p : piece) {
+            cutSizes.computeIfPresent(p, (key, size) -> size + 1);
+        }
+        int largest = Collections.max(cutSizes.entrySet(), Map.Entry.comparingByValue()).getKey();
+
+        List<Road> candidates = new ArrayList<>();
+        for (int a = 0; a < villages.size(); a++) {
+            if (piece[a] == largest || !cutSizes.containsKey(piece[a])) continue;
+            for (int b = 0; b < villages.size(); b++) {
+                // Pairs between two smaller pieces are met from both ends; offer them once.
+                if (piece[b] == piece[a] || !cutSizes.containsKey(piece[b]) || (piece[b] != largest && b < a)) continue;
+                if (!GameMapGenerator.doesRoadIntersectMountain(mountains, villages.get(a), villages.get(b))) {
+                    candidates.add(straightRoad(villages.get(a), villages.get(b)));
+                }
+            }
+        }
+        return spanningRoads(villages, kept, candidates, seed);
+    }
+
+    /**
+     * <h1>spanningRoads Method</h1>
+     * <p>
+     * Runs Kruskal over the current roads and the candidates, comparing straight-line lengths.
+     * The current roads come first, so they win ties and the network changes as little as
+     * possible. Current roads that stay are returned as they are; new ones get their full weight.
+     * </p>
+     */
+    private static List<Road> spanningRoads(List<Village> villages, List<Road> current, List<Road> candidates, WorldSeed seed) {
+        Map<Road, Road> currentByStraight = new IdentityHashMap<>();
+        List<Road> byLength = new ArrayList<>(current.size() + candidates.size());
+        for (Road road : current) {
+            Road straight = straightRoad(road.getFromVillage(), road.getToVillage());
+            currentByStraight.put(straight, road);
+            byLength.add(straight);
+        }
+        byLength.addAll(candidates);
+
+        List<Road> roads = new ArrayList<>();
+        for (Road road : MSTBuilder.buildMST(villages, byLength)) {
+            Road existing = currentByStraight.get(road);
+            roads.add(existing != null ? existing : GameMapGenerator.buildRoad(road.getFromVillage(), road.getToVillage(), seed));
+        }
+        return roads;
+    }
+
+    /**
+     * Builds the next world with the given network, dropping the enemies that stood on roads that are gone.
+     */
+    private static GameMap.WorldSnapshot withNetwork(GameMap.WorldSnapshot world, List<Mountain> mountains,
+                                                     List<Village> villages, List<Road> roads, Village startingVillage) {
+        Set<Road> remaining = Collections.newSetFromMap(new IdentityHashMap<>());
+        remaining.addAll(roads);
+        Set<Long> goneMidpoints = new HashSet<>();
+        for (Road road : world.getRoads()) {
+            if (!remaining.contains(road)) {
+                goneMidpoints.add(midpointKey(road));
+            }
+        }
+        for (Road road : roads) {
+            goneMidpoints.remove(midpointKey(road));
+        }
+
+        List<Enemy> enemies = new ArrayList<>();
+        for (Enemy enemy : world.getEnemies()) {
+            if (!goneMidpoints.contains(pack(enemy.getXCoordinate(), enemy.getYCoordinate()))) {
+                enemies.add(enemy);
+            }
+        }
+        return GameMap.WorldSnapshot.of(mountains, villages, roads, enemies, startingVillage, world.getSeed());
+    }
+
+    private static WorldSeed worldSeed(GameMap.WorldSnapshot world) {
+        return world.getSeed() != null ? new WorldSeed(world.getSeed()) : WorldSeed.random();
+    }
+
+    private static Road straightRoad(Village v1, Village v2) {
+        return new Road(v1, v2, GameUtils.calculateDistance(v1.getXCoordinate(), v1.getYCoordinate(),
+                v2.getXCoordinate(), v2.getYCoordinate()));
+    }
+
+    private static int length(Road road) {
+        return GameUtils.calculateDistance(road.getFromVillage().getXCoordinate(), road.getFromVillage().getYCoordinate(),
+                road.getToVillage().getXCoordinate(), road.getToVillage().getYCoordinate());
+    }
+
+    private static Map<Village, Integer> indexOf(List<Village> villages) {
+        Map<Village, Integer> index = new IdentityHashMap<>();
+        for (int i = 0; i < villages.size(); i++) {
+            index.put(villages.get(i), i);
+        }
+        return index;
+    }
+
+    private static DisjointSet components(Map<Village, Integer> index, List<Road> roads) {
+        DisjointSet sets = new DisjointSet(index.size());
+        for (Road road : roads) {
+            Integer from = index.get(road.getFromVillage());
+            Integer to = index.get(road.getToVillage());
+            if (from != null && to != null) {
+                sets.union(from, to);
+            }
+        }
+        return sets;
+    }
+
+    /**
+     * Enemies are spawned at the (integer) midpoint of their road.
+     */
+    private static long midpointKey(Road road) {
+        int midX = (road.getFromVillage().getXCoordinate() + road.getToVillage().getXCoordinate()) / 2;
+        int midY = (road.getFromVillage().getYCoordinate() + road.getToVillage().getYCoordinate()) / 2;
+        return pack(midX, midY);
+    }
+
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static long squaredDistance(Village village, int x, int y) {
+        long dx = village.getXCoordinate() - x;
+        long dy = village.getYCoordinate() - y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.mechanics.generation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <h1>SpatialGrid</h1>
+ * <p>
+ * A uniform-grid index of points on the map, used to check for nearby objects while placing them.
+ * </p>
+ * <p>
+ * The plane is split into square cells of {@code cellSize} pixels, and every point is stored in
+ * the bucket of the cell it falls into. {@link #anyWithin(int, int, int)} only looks at the cells
+ * that overlap the query circle, so with a cell size close to the query radius a check touches at
+ * most nine buckets, no matter how many points the grid holds.
+ * </p>
+ * <p>
+ * Distances are compared on squared integers, which gives exactly the same answer as
+ * {@code GameUtils.calculateDistance(...) < radius}: the truncated square root of a distance is
+ * below an integer radius exactly when the squared distance is below the squared radius.
+ * </p>
+ */
+public final class SpatialGrid {
+
+    private final int cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private int size;
+
+    /**
+     * <h1>SpatialGrid Constructor</h1>
+     * <p>
+     * Constructs an empty grid.
+     * </p>
+     *
+     * @param cellSize The edge length of a cell, in pixels.
+     */
+    public SpatialGrid(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds a point to the grid.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    public void add(int x, int y) {
+        cells.computeIfAbsent(key(cellOf(x), cellOf(y)), k -> new Cell()).add(x, y);
+        size++;
+    }
+
+    /**
+     * <h1>anyWithin Method</h1>
+     * <p>
+     * Checks whether any point of the grid lies closer than {@code radius} to a position.
+     * </p>
+     *
+     * @param x      The x-coordinate of the position.
+     * @param y      The y-coordinate of the position.
+     * @param radius The exclusive distance limit.
+     * @return True if some point is at a distance below {@code radius}.
+     */
+    public boolean anyWithin(int x, int y, int radius) {
+        if (size == 0 || radius <= 0) {
+            return false;
+        }
+        long radiusSquared = (long) radius * radius;
+        int minCellX = cellOf(x - radius);
+        int maxCellX = cellOf(x + radius);
+        int minCellY = cellOf(y - radius);
+        int maxCellY = cellOf(y + radius);
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell != null && cell.anyWithin(x, y, radiusSquared)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of points in the grid.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    /**
+     * The points of one cell as packed (x, y) pairs.
+     */
+    private static final class Cell {
+        private int[] coordinates = new int[8];
+        private int length;
+
+        void add(int x, int y) {
+            if (length + 2 > coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+            }
+            coordinates[length++] = x;
+            coordinates[length++] = y;
+        }
+
+        boolean anyWithin(int x, int y, long radiusSquared) {
+            for (int i = 0; i < length; i += 2) {
+                long dx = coordinates[i] - x;
+                long dy = coordinates[i + 1] - y;
+                if (dx * dx + dy * dy < radiusSquared) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.demo.mechanics.generation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <h1>WorldPool</h1>
+ * <p>
+ * Keeps a bounded stock of freshly generated worlds, so requests never wait for generation.
+ * </p>
+ * <p>
+ * Up to {@code capacity} worlds wait in a queue. {@link #poll()} hands out a ready world in
+ * constant time and asks the background executor to generate a replacement. Generation runs on
+ * {@code threads} daemon threads, and only there: when the pool has run dry (a burst of new
+ * players, or right after startup), {@link #poll()} counts a miss and returns no world, and the
+ * caller shows the player a "generating" page that asks again shortly.
+ * </p>
+ * <p>
+ * Every world that is ready or being generated holds one of {@code capacity} slots, taken before
+ * its generation starts and given back when it is handed out (or its generation fails), so the
+ * number of such worlds never exceeds the capacity.
+ * </p>
+ */
+public class WorldPool {
+
+    /**
+     * Logger instance for background generation failures.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(WorldPool.class);
+
+    private final int capacity;
+    private final Supplier<GameMap> generator;
+    private final BlockingQueue<GameMap> ready;
+    private final ExecutorService executor;
+
+    // Slots held by worlds that are ready or being generated; never above the capacity.
+    private final AtomicInteger reserved = new AtomicInteger();
+    // Worlds being generated in the background right now.
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refills = new AtomicLong();
+    private final AtomicLong refillFailures = new AtomicLong();
+    private final AtomicLong totalRefillNanos = new AtomicLong();
+    private volatile long lastRefillNanos;
+
+    /**
+     * <h1>WorldPool Constructor</h1>
+     * <p>
+     * Constructs a pool and starts filling it in the background.
+     * </p>
+     *
+     * @param capacity  The number of worlds kept ready.
+     * @param threads   The number of background generator threads.
+     * @param generator Generates a new world, e.g. {@code GameMapGenerator::generateMap}.
+     */
+    public WorldPool(int capacity, int threads, Supplier<GameMap> generator) {
+        this.capacity = Math.max(1, capacity);
+        this.generator = generator;
+        this.ready = new ArrayBlockingQueue<>(this.capacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "world-pregen-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        refill();
+    }
+
+    /**
+     * <h1>poll Method</h1>
+     * <p>
+     * Takes a generated world out of the pool, if one is ready. Never generates on the calling
+     * thread; either way, the pool is topped up again in the background.
+     * </p>
+     *
+     * @return A new world that nobody else holds, or null if none is ready yet.
+     */
+    public GameMap poll() {
+        GameMap world = ready.poll();
+        if (world != null) {
+            reserved.decrementAndGet();
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        refill();
+        return world;
+    }
+
+    /**
+     * Starts background generations until the ready and in-flight worlds fill the capacity.
+     */
+    private void refill() {
+        while (!executor.isShutdown()) {
+            int taken = reserved.get();
+            if (taken >= capacity) {
+                return;
+            }
+            if (reserved.compareAndSet(taken, taken + 1)) {
+                inFlight.incrementAndGet();
+                executor.execute(this::generateOne);
+            }
+        }
+    }
+
+    private void generateOne() {
+        GameMap world = null;
+        try {
+            long start = System.nanoTime();
+            world = generator.get();
+            long elapsed = System.nanoTime() - start;
+            lastRefillNanos = elapsed;
+            totalRefillNanos.addAndGet(elapsed);
+            refills.incrementAndGet();
+        } catch (RuntimeException e) {
+            // Not retried right away, so a broken generator cannot spin; the next poll() tries again.
+            refillFailures.incrementAndGet();
+            logger.warn("Background world generation failed", e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        if (world != null) {
+            ready.offer(world); // Always fits: the world holds one of the queue's capacity slots.
+        } else {
+            reserved.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of worlds ready to be taken.
+     *
+     * @return The pool depth.
+     */
+    public int depth() {
+        return ready.size();
+    }
+
+    /**
+     * <h1>getMetrics Method</h1>
+     * <p>
+     * Gets the pool depth, hit and miss counts and the background generation latency.
+     * </p>
+     *
+     * @return The metrics, ready to be serialized as JSON.
+     */
+    public Map<String, Object> getMetrics() {
+        long completed = refills.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("depth", ready.size());
+        metrics.put("capacity", capacity);
+        metrics.put("generating", inFlight.get());
+        metrics.put("hits", hits.get());
+        metrics.put("misses", misses.get());
+        metrics.put("refills", completed);
+        metrics.put("refillFailures", refillFailures.get());
+        metrics.put("lastRefillMillis", lastRefillNanos / 1_000_000);
+        metrics.put("averageRefillMillis", completed == 0 ? 0 : totalRefillNanos.get() / completed / 1_000_000);
+        return metrics;
+    }
+
+    /**
+     * Stops the background threads; called by Spring when the application shuts down.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.classes.villageClasses.Village;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <h1>WorldRegistry</h1>
+ * <p>
+ * Holds one independent {@link GameMap} per player session.
+ * </p>
+ * <p>
+ * Worlds are keyed by the HTTP session ID, so players no longer share (or wipe) a single global
+ * map. Memory is bounded in two ways: at most {@code maxWorlds} worlds are kept, evicting the
+ * least recently used one when a new player arrives, and worlds that have not been touched for
+ * {@code idleTimeout} are dropped on the next access to the registry. A world is also dropped as
+ * soon as its session is invalidated or expires. Before that, a world left alone for
+ * {@code interiorIdleTimeout} has the interiors of its villages evicted; they are rebuilt,
+ * identically, from their seeds when the player comes back and opens a village.
+ * </p>
+ * <p>
+ * The map of worlds is a small access-ordered {@link LinkedHashMap} guarded by the registry's
+ * lock; only the lookup runs under the lock. Generating a world happens outside it, and each
+ * world is published through {@link GameMap#compareAndReplace}, so concurrent requests from the
+ * same session generate at most one world that wins.
+ * </p>
+ */
+public class WorldRegistry implements HttpSessionListener {
+
+    private final int maxWorlds;
+    private final long idleTimeoutMillis;
+    private final long interiorIdleTimeoutMillis;
+    private final Supplier<GameMap> generator;
+
+    // Session ID -> world, least recently used first.
+    private final LinkedHashMap<String, WorldEntry> worlds = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong worldsCreated = new AtomicLong();
+    private final AtomicLong worldsEvictedLru = new AtomicLong();
+    private final AtomicLong worldsEvictedIdle = new AtomicLong();
+    private final AtomicLong worldsGenerated = new AtomicLong();
+    private final AtomicLong interiorsEvicted = new AtomicLong();
+
+    /**
+     * <h1>WorldRegistry Constructor</h1>
+     * <p>
+     * Constructs a registry with the given limits.
+     * </p>
+     *
+     * @param maxWorlds           The maximum number of worlds kept at once.
+     * @param idleTimeout         How long a world may go untouched before it is evicted.
+     * @param interiorIdleTimeout How long a world may go untouched before its village interiors are evicted.
+     * @param generator           Supplies a new world, or null if none can be had right now, e.g.
+     *                            {@code worldPool::poll} or {@code GameMapGenerator::generateMap}.
+     */
+    public WorldRegistry(int maxWorlds, Duration idleTimeout, Duration interiorIdleTimeout, Supplier<GameMap> generator) {
+        this.maxWorlds = Math.max(1, maxWorlds);
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.interiorIdleTimeoutMillis = interiorIdleTimeout.toMillis();
+        this.generator = generator;
+    }
+
+    /**
+     * <h1>worldFor Method</h1>
+     * <p>
+     * Gets the world of a session, creating an empty one if the session has none yet.
+     * </p>
+     *
+     * @param session The player's HTTP session.
+     * @return The session's game map.
+     */
+    public GameMap worldFor(HttpSession session) {
+        return entryFor(session.getId()).map;
+    }
+
+    /**
+     * <h1>generatedWorldFor Method</h1>
+     * <p>
+     * Gets the world snapshot of a session, getting a new world first if it is empty.
+     * </p>
+     *
+     * @param session The player's HTTP session.
+     * @return The current world snapshot of the session; still empty if the generator had no world ready.
+     */
+    public GameMap.WorldSnapshot generatedWorldFor(HttpSession session) {
+        WorldEntry entry = entryFor(session.getId());
+        GameMap.WorldSnapshot world = entry.map.getSnapshot();
+        if (world.isEmpty()) {
+            long start = System.nanoTime();
+            GameMap fresh = generator.get();
+            long elapsed = System.nanoTime() - start;
+            if (fresh != null && entry.map.compareAndReplace(world, fresh.getSnapshot())) {
+                entry.generations.incrementAndGet();
+                entry.lastGenerationNanos = elapsed;
+                worldsGenerated.incrementAndGet();
+            }
+            world = entry.map.getSnapshot();
+        }
+        return world;
+    }
+
+    /**
+     * Looks up or creates the entry of a session and marks it as used, evicting idle and surplus
+     * worlds on the way.
+     */
+    private WorldEntry entryFor(String sessionId) {
+        List<WorldEntry> idle;
+        WorldEntry entry;
+        synchronized (worlds) {
+            idle = evictIdle(System.currentTimeMillis());
+            entry = worlds.get(sessionId);
+            if (entry == null) {
+                entry = new WorldEntry(sessionId);
+                worlds.put(sessionId, entry);
+                worldsCreated.incrementAndGet();
+                Iterator<WorldEntry> eldest = worlds.values().iterator();
+                while (worlds.size() > maxWorlds && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                    worldsEvictedLru.incrementAndGet();
+                }
+            }
+            entry.touch();
+        }
+
+        // A village holds its lock while it generates its interior, so interiors are dropped outside the registry lock.
+        for (WorldEntry idleEntry : idle) {
+            interiorsEvicted.addAndGet(idleEntry.evictInteriors());
+        }
+        return entry;
+    }
+
+    /**
+     * Drops worlds that have been idle for longer than the timeout, and collects the worlds idle
+     * long enough to lose their village interiors that have not lost them yet. The map is in
+     * access order, so idle worlds are at its head and the sweep stops at the first recently used one.
+     */
+    private List<WorldEntry> evictIdle(long now) {
+        List<WorldEntry> interiorsIdle = new ArrayList<>();
+        Iterator<WorldEntry> it = worlds.values().iterator();
+        while (it.hasNext()) {
+            WorldEntry entry = it.next();
+            long idle = now - entry.lastAccessMillis;
+            if (idle > idleTimeoutMillis) {
+                it.remove();
+                worldsEvictedIdle.incrementAndGet();
+            } else if (idle > interiorIdleTimeoutMillis) {
+                if (!entry.interiorsEvicted) {
+                    entry.interiorsEvicted = true;
+                    interiorsIdle.add(entry);
+                }
+            } else {
+                break;
+            }
+        }
+        return interiorsIdle;
+    }
+
+    /**
+     * Drops the world of a session.
+     *
+     * @param sessionId The session ID.
+     */
+    public void remove(String sessionId) {
+        synchronized (worlds) {
+            worlds.remove(sessionId);
+        }
+    }
+
+    /**
+     * Drops the world of a session when the session is invalidated or times out.
+     *
+     * @param event The session event.
+     */
+    @Override
+    public void sessionDestroyed(HttpSessionEvent event) {
+        remove(event.getSession().getId());
+    }
+
+    /**
+     * Gets the number of worlds currently held.
+     *
+     * @return The number of worlds.
+     */
+    public int size() {
+        synchronized (worlds) {
+            return worlds.size();
+        }
+    }
+
+    /**
+     * <h1>getMetrics Method</h1>
+     * <p>
+     * Gets registry-wide counters and one entry per held world, least recently used first.
+     * A world is identified only by a hash of its session ID, and its seed is left out, since
+     * the seed would let anyone rebuild that player's map.
+     * </p>
+     *
+     * @return The metrics, ready to be serialized as JSON.
+     */
+    public Map<String, Object> getMetrics() {
+        List<Map<String, Object>> perWorld = new ArrayList<>();
+        int count;
+        synchronized (worlds) {
+            count = worlds.size();
+            for (WorldEntry entry : worlds.values()) {
+                perWorld.add(entry.metrics());
+            }
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("worlds", count);
+        metrics.put("maxWorlds", maxWorlds);
+        metrics.put("idleTimeoutSeconds", idleTimeoutMillis / 1000);
+        metrics.put("interiorIdleTimeoutSeconds", interiorIdleTimeoutMillis / 1000);
+        metrics.put("created", worldsCreated.get());
+        metrics.put("generated", worldsGenerated.get());
+        metrics.put("evictedLru", worldsEvictedLru.get());
+        metrics.put("evictedIdle", worldsEvictedIdle.get());
+        metrics.put("interiorsEvicted", interiorsEvicted.get());
+        metrics.put("perWorld", perWorld);
+        return metrics;
+    }
+
+    /**
+     * One session's world and its usage counters.
+     */
+    private static final class WorldEntry {
+        private final String key;
+        private final GameMap map = new GameMap();
+        private final long createdMillis = System.currentTimeMillis();
+        private final AtomicLong accesses = new AtomicLong();
+        private final AtomicLong generations = new AtomicLong();
+        private volatile long lastAccessMillis = createdMillis;
+        private volatile long lastGenerationNanos;
+        private boolean interiorsEvicted; // Guarded by the registry lock; cleared on every access.
+
+        private WorldEntry(String sessionId) {
+            // The session ID itself is never reported, only a hash of it.
+            this.key = Integer.toHexString(sessionId.hashCode());
+        }
+
+        private WorldEntry touch() {
+            lastAccessMillis = System.currentTimeMillis();
+            accesses.incrementAndGet();
+            interiorsEvicted = false;
+            return this;
+        }
+
+        /**
+         * Evicts the built interiors of every village in this world.
+         *
+         * @return The number of interiors evicted.
+         */
+        private int evictInteriors() {
+            int evicted = 0;
+            for (Village village : map.getSnapshot().getVillages()) {
+                if (village.evictInterior()) {
+                    evicted++;
+                }
+            }
+            return evicted;
+        }
+
+        private Map<String, Object> metrics() {
+            GameMap.WorldSnapshot world = map.getSnapshot();
+            long now = System.currentTimeMillis();
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("world", key);
+            metrics.put("ageSeconds", (now - createdMillis) / 1000);
+            metrics.put("idleSeconds", (now - lastAccessMillis) / 1000);
+            metrics.put("accesses", accesses.get());
+            metrics.put("generations", generations.get());
+            metrics.put("lastGenerationMillis", lastGenerationNanos / 1_000_000);
+            metrics.put("villages", world.getVillages().size());
+            metrics.put("roads", world.getRoads().size());
+            metrics.put("enemies", world.getEnemies().size());
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.mechanics.generation;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * <h1>WorldSeed</h1>
+ * <p>
+ * The seed of one generated world, and the source of every random stream used to build it.
+ * </p>
+ * <p>
+ * Each part of world generation draws from its own {@link SplittableRandom}, derived from the world
+ * seed and a {@link Subsystem} (plus an index, such as a village ID) with the SplitMix64 mixing
+ * function. A stream only depends on the seed and its own key, never on how many numbers other
+ * streams have drawn or on which thread draws them, so the same seed always produces the same
+ * world and villages can be generated independently and in parallel.
+ * </p>
+ */
+public final class WorldSeed {
+
+    /**
+     * The parts of world generation that get their own random stream.
+     */
+    public enum Subsystem {
+        MOUNTAINS,
+        VILLAGES,
+        VILLAGE_INTERIOR,
+        ROADS,
+        ENEMIES
+    }
+
+    private final long seed;
+
+    /**
+     * <h1>WorldSeed Constructor</h1>
+     * <p>
+     * Constructs a world seed.
+     * </p>
+     *
+     * @param seed The seed value.
+     */
+    public WorldSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a world seed with a random value.
+     *
+     * @return A new, randomly seeded world seed.
+     */
+    public static WorldSeed random() {
+        return new WorldSeed(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Gets the seed value.
+     *
+     * @return The seed value.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the random stream of a subsystem.
+     *
+     * @param subsystem The subsystem.
+     * @return A new generator; the same subsystem always yields the same sequence for this seed.
+     */
+    public RandomGenerator stream(Subsystem subsystem) {
+        return new SplittableRandom(key(subsystem));
+    }
+
+    /**
+     * Gets the random stream of one item of a subsystem, such as one village or one road.
+     *
+     * @param subsystem The subsystem.
+     * @param index     The item's key within the subsystem.
+     * @return A new generator; the same subsystem and index always yield the same sequence for this seed.
+     */
+    public RandomGenerator stream(Subsystem subsystem, long index) {
+        return new SplittableRandom(seedOf(subsystem, index));
+    }
+
+    /**
+     * Gets the seed behind {@link #stream(Subsystem, long)}, for callers that create the stream later.
+     *
+     * @param subsystem The subsystem.
+     * @param index     The item's key within the subsystem.
+     * @return The seed of the item's stream; {@code new SplittableRandom(seed)} recreates the stream.
+     */
+    public long seedOf(Subsystem subsystem, long index) {
+        return mix(key(subsystem) + mix(index));
+    }
+
+    private long key(Subsystem subsystem) {
+        // The name rather than the ordinal, so reordering the enum does not change existing worlds.
+        return mix(seed ^ mix(subsystem.name().hashCode()));
+    }
+
+    /**
+     * The SplitMix64 finalizer: spreads every input bit over the whole result.
+     */
+    private static long mix(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(seed);
+    }
+}
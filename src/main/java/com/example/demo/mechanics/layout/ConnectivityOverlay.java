@@ -0,0 +1,126 @@
+package com.example.demo.mechanics.layout;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.mechanics.pathfinding.StructureGraphSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * <h1>ConnectivityOverlay</h1>
+ * <p>
+ * The extra links the village page draws so every structure is visibly connected, kept apart from
+ * the structure graph itself.
+ * </p>
+ * <p>
+ * The links are the missing edges of a minimum spanning tree over the structures: existing roads
+ * cost nothing, and any other pair costs the straight-line distance between the structures. Prim's
+ * algorithm on this complete graph runs in O(V²) with two plain arrays, and only picks a link when
+ * the roads reached so far cannot go further, so a connected village gets no links at all and a
+ * village in {@code c} separate parts gets {@code c - 1} links between their closest structures.
+ * </p>
+ * <p>
+ * The overlay never touches the roads, so pathfinding only ever sees real roads. It is immutable
+ * and is cached per structure version by {@code Village#getConnectivityOverlay()}.
+ * </p>
+ */
+public final class ConnectivityOverlay {
+
+    private final int[] from;
+    private final int[] to;
+
+    private ConnectivityOverlay(int[] from, int[] to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * <h1>compute Method</h1>
+     * <p>
+     * Computes the links that connect every part of a structure graph. Roads are treated as undirected.
+     * </p>
+     *
+     * @param graph The structure graph snapshot.
+     * @return The overlay, with links between dense node indices of the snapshot.
+     */
+    public static ConnectivityOverlay compute(StructureGraphSnapshot graph) {
+        int n = graph.nodeCount();
+        StructureGraphSnapshot roads = graph.undirected();
+        int[] linkFrom = new int[Math.max(0, n - 1)];
+        int[] linkTo = new int[linkFrom.length];
+        int links = 0;
+
+        // cost[v]: cheapest way found so far to attach v to the tree, through parent[v];
+        // 0 means a road reaches it, so no link is needed.
+        double[] cost = new double[n];
+        int[] parent = new int[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(cost, Double.MAX_VALUE);
+        Arrays.fill(parent, -1);
+
+        for (int added = 0; added < n; added++) {
+            int next = -1;
+            for (int v = 0; v < n; v++) {
+                if (!inTree[v] && (next < 0 || cost[v] < cost[next])) {
+                    next = v;
+                }
+            }
+            inTree[next] = true;
+            if (parent[next] >= 0 && cost[next] > 0) {
+                linkFrom[links] = parent[next];
+                linkTo[links++] = next;
+            }
+
+            // ========================= Roads attach their ends for free =========================
+            for (int e = roads.rowStart(next); e < roads.rowEnd(next); e++) {
+                int v = roads.targetAt(e);
+                if (!inTree[v]) {
+                    cost[v] = 0;
+                    parent[v] = next;
+                }
+            }
+
+            // ========================= Anything else costs the distance =========================
+            StructureNode node = graph.nodeAt(next);
+            for (int v = 0; v < n; v++) {
+                if (inTree[v] || cost[v] == 0) continue;
+                StructureNode other = graph.nodeAt(v);
+                double distance = Math.hypot(node.getX() - other.getX(), node.getY() - other.getY());
+                if (distance < cost[v]) {
+                    cost[v] = distance;
+                    parent[v] = next;
+                }
+            }
+        }
+
+        return new ConnectivityOverlay(Arrays.copyOf(linkFrom, links), Arrays.copyOf(linkTo, links));
+    }
+
+    /**
+     * Gets the number of links.
+     *
+     * @return The number of links; 0 if the roads already connect every structure.
+     */
+    public int linkCount() {
+        return from.length;
+    }
+
+    /**
+     * Gets the structure a link starts at.
+     *
+     * @param link The link index.
+     * @return The dense node index of the structure already connected when the link was picked.
+     */
+    public int fromAt(int link) {
+        return from[link];
+    }
+
+    /**
+     * Gets the structure a link leads to.
+     *
+     * @param link The link index.
+     * @return The dense node index of the structure the link connects.
+     */
+    public int toAt(int link) {
+        return to[link];
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.demo.mechanics.layout;
+
+import com.example.demo.mechanics.pathfinding.StructureGraphSnapshot;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * <h1>ForceLayout</h1>
+ * <p>
+ * Force-directed layout of a village structure graph, computed on the server so the village page
+ * can place its nodes directly instead of running a layout pass in the browser.
+ * </p>
+ * <p>
+ * The layout follows Fruchterman-Reingold: every pair of nodes pushes apart with a force of
+ * {@code k²/d}, every road pulls its two ends together with {@code d²/k}, and a weak gravity keeps
+ * disconnected parts close. Each step moves a node at most by the current temperature, which cools
+ * linearly to zero. The all-pairs repulsion is approximated with a Barnes-Hut quadtree: a cell
+ * that looks smaller than {@link #THETA} times its distance acts as a single body at its centre
+ * of mass, so one step costs O(n log n) instead of O(n²).
+ * </p>
+ * <p>
+ * Nodes start at their stored structure coordinates, and ties are broken with a generator seeded
+ * by the graph size, so the same graph always gets the same layout.
+ * </p>
+ */
+public class ForceLayout {
+
+    /**
+     * The distance the forces settle a road's ends at, in pixels.
+     */
+    static final double IDEAL_EDGE_LENGTH = 180;
+
+    /**
+     * The Barnes-Hut opening criterion: a cell of width {@code w} at distance {@code d} is
+     * approximated when {@code w / d < THETA}.
+     */
+    static final double THETA = 0.9;
+
+    /**
+     * The number of simulation steps.
+     */
+    static final int ITERATIONS = 250;
+
+    /**
+     * The pull towards the centroid, per pixel of distance.
+     */
+    static final double GRAVITY = 0.05;
+
+    /**
+     * The deepest quadtree level; bodies that still share a cell there are merged.
+     */
+    private static final int MAX_DEPTH = 24;
+
+    /**
+     * <h1>compute Method</h1>
+     * <p>
+     * Lays out a structure graph. Roads are treated as undirected.
+     * </p>
+     *
+     * @param graph The structure graph snapshot.
+     * @return The node positions, indexed like the snapshot and shifted so the smallest x and y are 0.
+     */
+    public static Result compute(StructureGraphSnapshot graph) {
+        int n = graph.nodeCount();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        initialPositions(graph, x, y);
+
+        StructureGraphSnapshot roads = graph.undirected();
+        double k = IDEAL_EDGE_LENGTH;
+        double[] dispX = new double[n];
+        double[] dispY = new double[n];
+        int[] pulledBy = new int[n];
+        QuadTree tree = new QuadTree(n);
+
+        for (int iteration = 0; iteration < ITERATIONS && n > 1; iteration++) {
+            double temperature = k * 2 * (1 - (double) iteration / ITERATIONS);
+            Arrays.fill(dispX, 0);
+            Arrays.fill(dispY, 0);
+
+            // ========================= Repulsion between all nodes, through the quadtree =========================
+            tree.build(x, y);
+            for (int i = 0; i < n; i++) {
+                tree.repel(i, x[i], y[i], k * k, dispX, dispY);
+            }
+
+            // ========================= Attraction along the roads =========================
+            // Every road is stored in both directions, so each end pulls only itself; parallel
+            // roads between the same two structures pull once.
+            Arrays.fill(pulledBy, -1);
+            for (int u = 0; u < n; u++) {
+                for (int e = roads.rowStart(u); e < roads.rowEnd(u); e++) {
+                    int v = roads.targetAt(e);
+                    if (pulledBy[v] == u) continue;
+                    pulledBy[v] = u;
+                    double dx = x[u] - x[v];
+                    double dy = y[u] - y[v];
+                    double distance = Math.sqrt(dx * dx + dy * dy);
+                    dispX[u] -= dx * distance / k;
+                    dispY[u] -= dy * distance / k;
+                }
+            }
+
+            // ========================= Gravity, then move by at most the temperature =========================
+            double centerX = 0;
+            double centerY = 0;
+            for (int i = 0; i < n; i++) {
+                centerX += x[i];
+                centerY += y[i];
+            }
+            centerX /= n;
+            centerY /= n;
+            for (int i = 0; i < n; i++) {
+                dispX[i] -= GRAVITY * (x[i] - centerX);
+                dispY[i] -= GRAVITY * (y[i] - centerY);
+                double length = Math.sqrt(dispX[i] * dispX[i] + dispY[i] * dispY[i]);
+                if (length > 0) {
+                    double step = Math.min(length, temperature) / length;
+                    x[i] += dispX[i] * step;
+                    y[i] += dispY[i] * step;
+                }
+            }
+        }
+
+        return new Result(x, y);
+    }
+
+    /**
+     * Starts every node at its stored coordinates, nudging nodes that share a point apart.
+     */
+    private static void initialPositions(StructureGraphSnapshot graph, double[] x, double[] y) {
+        SplittableRandom random = new SplittableRandom(graph.nodeCount());
+        for (int i = 0; i < x.length; i++) {
+            x[i] = graph.nodeAt(i).getX() + random.nextDouble(-1, 1);
+            y[i] = graph.nodeAt(i).getY() + random.nextDouble(-1, 1);
+        }
+    }
+
+    /**
+     * <h1>Result</h1>
+     * <p>
+     * The computed position of every node, indexed like the snapshot it was computed from.
+     * Results are shared between requests and never change.
+     * </p>
+     */
+    public static final class Result {
+
+        private final double[] x;
+        private final double[] y;
+        private final double width;
+        private final double height;
+
+        private Result(double[] x, double[] y) {
+            double minX = Double.MAX_VALUE;
+            double minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE;
+            double maxY = -Double.MAX_VALUE;
+            for (int i = 0; i < x.length; i++) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+            for (int i = 0; i < x.length; i++) {
+                x[i] = Math.round(x[i] - minX);
+                y[i] = Math.round(y[i] - minY);
+            }
+            this.x = x;
+            this.y = y;
+            this.width = x.length == 0 ? 0 : Math.round(maxX - minX);
+            this.height = y.length == 0 ? 0 : Math.round(maxY - minY);
+        }
+
+        /**
+         * Gets the x coordinate of a node.
+         *
+         * @param index The dense node index.
+         * @return The x coordinate, in pixels.
+         */
+        public double getX(int index) {
+            return x[index];
+        }
+
+        /**
+         * Gets the y coordinate of a node.
+         *
+         * @param index The dense node index.
+         * @return The y coordinate, in pixels.
+         */
+        public double getY(int index) {
+            return y[index];
+        }
+
+        /**
+         * Gets the width of the layout.
+         *
+         * @return The largest x coordinate.
+         */
+        public double getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the height of the layout.
+         *
+         * @return The largest y coordinate.
+         */
+        public double getHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * <h1>QuadTree</h1>
+     * <p>
+     * A Barnes-Hut quadtree stored in flat arrays and rebuilt every step. Each cell keeps its
+     * centre, half width, total mass and centre of mass; a leaf also keeps its body.
+     * </p>
+     */
+    private static final class QuadTree {
+
+        private int[] children;
+        private int[] body;
+        private double[] centerX;
+        private double[] centerY;
+        private double[] half;
+        private double[] mass;
+        private double[] massX;
+        private double[] massY;
+        private int size;
+        private int[] stack = new int[64];
+
+        QuadTree(int bodies) {
+            grow(Math.max(4, bodies * 2));
+        }
+
+        private void grow(int capacity) {
+            children = children == null ? new int[capacity * 4] : Arrays.copyOf(children, capacity * 4);
+            body = body == null ? new int[capacity] : Arrays.copyOf(body, capacity);
+            centerX = centerX == null ? new double[capacity] : Arrays.copyOf(centerX, capacity);
+            centerY = centerY == null ? new double[capacity] : Arrays.copyOf(centerY, capacity);
+            half = half == null ? new double[capacity] : Arrays.copyOf(half, capacity);
+            mass = mass == null ? new double[capacity] : Arrays.copyOf(mass, capacity);
+            massX = massX == null ? new double[capacity] : Arrays.copyOf(massX, capacity);
+            massY = massY == null ? new double[capacity] : Arrays.copyOf(massY, capacity);
+        }
+
+        private int newCell(double cx, double cy, double h) {
+            if (size == body.length) {
+                grow(size * 2);
+            }
+            int cell = size++;
+            Arrays.fill(children, cell * 4, cell * 4 + 4, -1);
+            body[cell] = -1;
+            centerX[cell] = cx;
+            centerY[cell] = cy;
+            half[cell] = h;
+            mass[cell] = 0;
+            massX[cell] = 0;
+            massY[cell] = 0;
+            return cell;
+        }
+
+        void build(double[] x, double[] y) {
+            double minX = Double.MAX_VALUE;
+            double minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE;
+            double maxY = -Double.MAX_VALUE;
+            for (int i = 0; i < x.length; i++) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+            size = 0;
+            newCell((minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY) / 2 + 1);
+            for (int i = 0; i < x.length; i++) {
+                insert(i, x, y);
+            }
+        }
+
+        private void insert(int b, double[] x, double[] y) {
+            int cell = 0;
+            for (int depth = 0; ; depth++) {
+                if (mass[cell] == 0) {
+                    body[cell] = b;
+                    mass[cell] = 1;
+                    massX[cell] = x[b];
+                    massY[cell] = y[b];
+                    return;
+                }
+
+                boolean leaf = body[cell] >= 0;
+                if (leaf && depth < MAX_DEPTH) {
+                    // Split: the resident body moves down into its quadrant.
+                    int resident = body[cell];
+                    body[cell] = -1;
+                    int child = childFor(cell, x[resident], y[resident]);
+                    body[child] = resident;
+                    mass[child] = mass[cell];
+                    massX[child] = massX[cell];
+                    massY[child] = massY[cell];
+                }
+
+                double total = mass[cell] + 1;
+                massX[cell] = (massX[cell] * mass[cell] + x[b]) / total;
+                massY[cell] = (massY[cell] * mass[cell] + y[b]) / total;
+                mass[cell] = total;
+                if (leaf && depth >= MAX_DEPTH) {
+                    // Too deep to split further: the bodies share this leaf.
+                    return;
+                }
+                cell = childFor(cell, x[b], y[b]);
+            }
+        }
+
+        /**
+         * Gets (creating if needed) the child cell of the quadrant that contains a point.
+         */
+        private int childFor(int cell, double px, double py) {
+            int quadrant = (px >= centerX[cell] ? 1 : 0) | (py >= centerY[cell] ? 2 : 0);
+            int slot = cell * 4 + quadrant;
+            if (children[slot] < 0) {
+                double h = half[cell] / 2;
+                int child = newCell(centerX[cell] + ((quadrant & 1) != 0 ? h : -h),
+                        centerY[cell] + ((quadrant & 2) != 0 ? h : -h), h);
+                children[slot] = child;
+            }
+            return children[slot];
+        }
+
+        /**
+         * Adds the repulsion of every other body on body {@code i} to its displacement.
+         */
+        void repel(int i, double px, double py, double kSquared, double[] dispX, double[] dispY) {
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int cell = stack[--top];
+                double m = mass[cell];
+                if (body[cell] == i) {
+                    m -= 1;
+                }
+                if (m <= 0) continue;
+
+                double dx = px - massX[cell];
+                double dy = py - massY[cell];
+                double distanceSquared = dx * dx + dy * dy;
+                double width = half[cell] * 2;
+                if (body[cell] >= 0 || width * width < THETA * THETA * distanceSquared) {
+                    if (distanceSquared < 0.01) continue;
+                    double force = kSquared * m / distanceSquared;
+                    dispX[i] += dx * force;
+                    dispY[i] += dy * force;
+                    continue;
+                }
+
+                if (top + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                for (int q = 0; q < 4; q++) {
+                    int child = children[cell * 4 + q];
+                    if (child >= 0) {
+                        stack[top++] = child;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.mechanics.pathfinding;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>AnimationStepCodec</h1>
+ * <p>
+ * Encodes pathfinding animation steps into a compact binary form, served as
+ * {@code application/octet-stream} next to the JSON form.
+ * </p>
+ * <p>
+ * The encoding replaces the repeated action and node ID strings of the JSON form with small
+ * integers. All integers are unsigned LEB128 varints (7 bits per byte, low bits first, high bit set
+ * on every byte but the last), so node indices and most weights take a single byte.
+ * </p>
+ * <pre>
+ * version        1 byte, {@link #VERSION}
+ * action count   varint, followed by that many strings
+ * node count     varint, followed by that many strings
+ * step count     varint, followed by that many steps
+ *
+ * string         varint (UTF-8 length + 1, or 0 for null), then the UTF-8 bytes
+ * step           1 byte opcode (index into the action table),
+ *                varint from (index into the node table),
+ *                varint to (index into the node table),
+ *                varint weight (zigzag encoded, so negative weights stay short)
+ * </pre>
+ * <p>
+ * The village page decodes this format in {@code decodeAnimationSteps}.
+ * </p>
+ */
+public class AnimationStepCodec {
+
+    /**
+     * The version byte that starts every encoded animation.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The largest number of distinct actions, since an opcode is a single byte.
+     */
+    private static final int MAX_ACTIONS = 256;
+
+    /**
+     * <h1>encode Method</h1>
+     * <p>
+     * Encodes a list of animation steps.
+     * </p>
+     *
+     * @param steps The animation steps, in order.
+     * @return The encoded steps.
+     * @throws IllegalArgumentException If the steps use more than 256 distinct actions.
+     */
+    public static byte[] encode(List<? extends PathfindingStep> steps) {
+        Map<String, Integer> actionIndex = new HashMap<>();
+        List<String> actions = new ArrayList<>();
+        Map<String, Integer> nodeIndex = new HashMap<>();
+        List<String> nodes = new ArrayList<>();
+
+        // ========================= Number the actions and nodes in order of first use =========================
+        int[] codes = new int[steps.size() * 3];
+        for (int i = 0; i < steps.size(); i++) {
+            PathfindingStep step = steps.get(i);
+            codes[i * 3] = indexOf(step.getAction(), actionIndex, actions);
+            codes[i * 3 + 1] = indexOf(step.getFrom(), nodeIndex, nodes);
+            codes[i * 3 + 2] = indexOf(step.getTo(), nodeIndex, nodes);
+        }
+        if (actions.size() > MAX_ACTIONS) {
+            throw new IllegalArgumentException("Too many distinct actions for a one-byte opcode: " + actions.size());
+        }
+
+        // Most steps take 4 bytes: opcode, two one-byte indices and a one-byte weight.
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + nodes.size() * 4 + steps.size() * 4);
+        out.write(VERSION);
+        writeStrings(out, actions);
+        writeStrings(out, nodes);
+
+        writeVarint(out, steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            out.write(codes[i * 3]);
+            writeVarint(out, codes[i * 3 + 1]);
+            writeVarint(out, codes[i * 3 + 2]);
+            int weight = steps.get(i).getWeight();
+            writeVarint(out, (weight << 1) ^ (weight >> 31));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Gets the table index of a value, adding the value to the table on first use.
+     */
+    private static int indexOf(String value, Map<String, Integer> index, List<String> table) {
+        Integer existing = index.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        index.put(value, table.size());
+        table.add(value);
+        return table.size() - 1;
+    }
+
+    private static void writeStrings(ByteArrayOutputStream out, List<String> strings) {
+        writeVarint(out, strings.size());
+        for (String value : strings) {
+            if (value == null) {
+                writeVarint(out, 0);
+                continue;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length + 1);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Writes an int as an unsigned LEB128 varint.
+     */
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -23,49 +23,194 @@ public class BellmanFord {
      * @return True if the graph has a negative cycle, false otherwise.
      */
     public static boolean hasNegativeCycle(List<StructureNode> graph) {
-        int nodeCount = graph.size();
-        int[] distances = new int[nodeCount];
+        return hasNegativeCycle(StructureGraphSnapshot.of(graph));
+    }
 
-        // Initialize distances with a large value (infinity)
-        Arrays.fill(distances, Integer.MAX_VALUE);
-        distances[0] = 0; // Start with the first node, distance is 0
+    /**
+     * <h1>hasNegativeCycle Method</h1>
+     * <p>
+     * Checks if a graph snapshot contains a negative cycle anywhere in the graph.
+     * </p>
+     *
+     * @param graph The structure graph snapshot.
+     * @return True if the graph has a negative cycle, false otherwise.
+     * @see #findNegativeCycle(StructureGraphSnapshot)
+     */
+    public static boolean hasNegativeCycle(StructureGraphSnapshot graph) {
+        return !findNegativeCycle(graph).isEmpty();
+    }
+
+    /**
+     * <h1>findNegativeCycle Method</h1>
+     * <p>
+     * Finds a negative cycle in a graph snapshot with the queue-based Bellman-Ford variant (SPFA).
+     * </p>
+     * <p>
+     * Every node starts at distance 0 in the queue, as if a virtual source were connected to all of
+     * them, so cycles are found no matter which node they are reachable from. Only nodes whose
+     * distance just improved are queued again, and the run stops as soon as the queue drains, so
+     * a graph without negative cycles usually finishes after far fewer than V-1 full passes.
+     * Each node remembers how many roads its current shortest path has; once that count reaches V
+     * the path must repeat a node, and the cycle is read back from the predecessor links.
+     * Distances are indexed by the snapshot's dense node indices, so structure IDs do not have to
+     * be {@code 0..n-1}.
+     * </p>
+     * <p>
+     * If the queue runs for more than V·E relaxations without settling or closing a cycle, the
+     * answer is left to {@link #findNegativeCycleByPasses(StructureGraphSnapshot)}, so running out of
+     * budget never turns into a false "no cycle".
+     * </p>
+     *
+     * @param graph The structure graph snapshot.
+     * @return The nodes of a negative cycle in road order (the last node connects back to the
+     *         first), or an empty list if the graph has no negative cycle.
+     */
+    public static List<StructureNode> findNegativeCycle(StructureGraphSnapshot graph) {
+        // Plain Bellman-Ford never needs more than V·E relaxations.
+        return findNegativeCycle(graph, (long) graph.nodeCount() * Math.max(1, graph.edgeCount()) + graph.nodeCount());
+    }
 
-        // Relax all edges V-1 times
-        for (int i = 1; i < nodeCount; i++) {
-            for (StructureNode node : graph) {
-                for (StructureRoad edge : node.getConnections()) {
-                    int u = node.getId(); // ✅ Corrected
-                    int v = edge.getToStructure().getId(); // ✅ Corrected
-                    int weight = edge.getWeight();
+    /**
+     * Runs the queue-based search with a given relaxation budget.
+     *
+     * @param graph            The structure graph snapshot.
+     * @param relaxationBudget The number of relaxations after which the plain passes take over.
+     * @return The nodes of a negative cycle in road order, or an empty list if there is none.
+     */
+    static List<StructureNode> findNegativeCycle(StructureGraphSnapshot graph, long relaxationBudget) {
+        int nodeCount = graph.nodeCount();
+        long[] distances = new long[nodeCount];
+        int[] previous = new int[nodeCount];
+        int[] pathLength = new int[nodeCount];
+        boolean[] queued = new boolean[nodeCount];
+        Arrays.fill(previous, -1);
+
+        // Circular queue: every node is in it at most once.
+        int[] queue = new int[nodeCount + 1];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            queue[tail++] = i;
+            queued[i] = true;
+        }
 
-                    if (distances[u] != Integer.MAX_VALUE && distances[u] + weight < distances[v]) {
-                        distances[v] = distances[u] + weight;
+        while (head != tail) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            queued[u] = false;
+
+            for (int e = graph.rowStart(u); e < graph.rowEnd(u); e++) {
+                int v = graph.targetAt(e);
+                long candidate = distances[u] + graph.weightAt(e);
+                if (candidate >= distances[v]) continue;
+
+                distances[v] = candidate;
+                previous[v] = u;
+                pathLength[v] = pathLength[u] + 1;
+                relaxationBudget--;
+
+                if (pathLength[v] >= nodeCount) {
+                    List<StructureNode> cycle = extractCycle(graph, previous, v);
+                    if (!cycle.isEmpty()) {
+                        return cycle;
                     }
                 }
+                if (relaxationBudget <= 0) {
+                    return findNegativeCycleByPasses(graph);
+                }
+
+                if (!queued[v]) {
+                    queue[tail] = v;
+                    tail = (tail + 1) % queue.length;
+                    queued[v] = true;
+                }
             }
         }
 
-        // Check for negative weight cycles
-        for (StructureNode node : graph) {
-            for (StructureRoad edge : node.getConnections()) {
-                int u = node.getId(); // ✅ Corrected
-                int v = edge.getToStructure().getId(); // ✅ Corrected
-                int weight = edge.getWeight();
+        return Collections.emptyList();
+    }
 
-                if (distances[u] != Integer.MAX_VALUE && distances[u] + weight < distances[v]) {
-                    return true;  // Negative cycle detected
+    /**
+     * <h1>findNegativeCycleByPasses Method</h1>
+     * <p>
+     * Finds a negative cycle with plain Bellman-Ford: every node starts at distance 0 and all roads
+     * are relaxed V times. If the last pass still improves a node, the graph has a negative cycle,
+     * and walking V predecessor links back from that node lands on it.
+     * </p>
+     *
+     * @param graph The structure graph snapshot.
+     * @return The nodes of a negative cycle in road order, or an empty list if the graph has no negative cycle.
+     */
+    static List<StructureNode> findNegativeCycleByPasses(StructureGraphSnapshot graph) {
+        int nodeCount = graph.nodeCount();
+        long[] distances = new long[nodeCount];
+        int[] previous = new int[nodeCount];
+        Arrays.fill(previous, -1);
+
+        int lastRelaxed = -1;
+        for (int pass = 0; pass < nodeCount; pass++) {
+            lastRelaxed = -1;
+            for (int u = 0; u < nodeCount; u++) {
+                for (int e = graph.rowStart(u); e < graph.rowEnd(u); e++) {
+                    int v = graph.targetAt(e);
+                    long candidate = distances[u] + graph.weightAt(e);
+                    if (candidate < distances[v]) {
+                        distances[v] = candidate;
+                        previous[v] = u;
+                        lastRelaxed = v;
+                    }
                 }
             }
+            if (lastRelaxed == -1) {
+                return Collections.emptyList();
+            }
+        }
+
+        int node = lastRelaxed;
+        for (int i = 0; i < nodeCount && previous[node] != -1; i++) {
+            node = previous[node];
+        }
+        return extractCycle(graph, previous, node);
+    }
+
+    /**
+     * Follows the predecessor links from a node and returns the cycle they run into, if any.
+     * Any cycle formed by Bellman-Ford predecessor links has negative total weight.
+     *
+     * @param graph    The structure graph snapshot.
+     * @param previous The predecessor of each node, or -1.
+     * @param from     The node to start walking from.
+     * @return The cycle nodes in road order, or an empty list if the walk ends without a cycle.
+     */
+    private static List<StructureNode> extractCycle(StructureGraphSnapshot graph, int[] previous, int from) {
+        int[] seenAt = new int[graph.nodeCount()];
+        Arrays.fill(seenAt, -1);
+        int node = from;
+        int step = 0;
+        while (node != -1 && seenAt[node] == -1) {
+            seenAt[node] = step++;
+            node = previous[node];
+        }
+        if (node == -1) {
+            return Collections.emptyList();
         }
 
-        return false;  // No negative cycle found
+        // 'node' is on the cycle: walk it once, then flip it into road order.
+        List<StructureNode> cycle = new ArrayList<>();
+        int current = node;
+        do {
+            cycle.add(graph.nodeAt(current));
+            current = previous[current];
+        } while (current != node);
+        Collections.reverse(cycle);
+        return cycle;
     }
 
 
 
 
 
-    public static class AnimationStep {
+    public static class AnimationStep implements PathfindingStep {
         private String action; // "relax" or "finalize"
         private String from;
         private String to;
@@ -89,23 +234,10 @@ public class BellmanFord {
         public String getTo() {
             return to;
         }
-    }
-
 
-
-    private static int findEdgeWeight(List<StructureRoad> edges, int from, int to) {
-        for (StructureRoad edge : edges) {
-            if ((edge.getFromStructure().getId() == from && edge.getToStructure().getId() == to) ||
-                (edge.getFromStructure().getId() == to && edge.getToStructure().getId() == from)) {
-                return edge.getWeight();
-            }
+        public int getWeight() {
+            return weight;
         }
-        return 0; // if somehow not found (should not happen normally)
-    }
-
-    private static Set<StructureNode> getConnectedComponent(List<StructureNode> graph, StructureNode startNode) {
-        Set<StructureNode> connectedComponent = new HashSet<>(graph);
-        return connectedComponent;
     }
 
     /** Runs Bellman-Ford and generates animation steps.
@@ -116,71 +248,79 @@ public class BellmanFord {
      * @return List of animation steps
      */
     public static List<AnimationStep> generateBellmanFordAnimation(List<StructureNode> nodes, List<StructureRoad> edges, String startId) {
-        int nodeCount = nodes.size();
+        return generateBellmanFordAnimation(StructureGraphSnapshot.of(nodes, edges), startId);
+    }
+
+    /** Runs Bellman-Ford on a graph snapshot and generates animation steps.
+     * A "finalize" step carries the weight of the road that produced the node's final distance.
+     *
+     * @param graph The structure graph snapshot
+     * @param startId Starting node ID as string
+     * @return List of animation steps
+     */
+    public static List<AnimationStep> generateBellmanFordAnimation(StructureGraphSnapshot graph, String startId) {
+        int nodeCount = graph.nodeCount();
         int[] distances = new int[nodeCount];
-        String[] previous = new String[nodeCount];
+        int[] previous = new int[nodeCount];
+        int[] previousWeight = new int[nodeCount];
         List<AnimationStep> animationSteps = new ArrayList<>();
 
         // Get the starting node
-        StructureNode startNode = null;
-        for (StructureNode node : nodes) {
-            if (String.valueOf(node.getId()).equals(startId)) {
-                startNode = node;
-                break;
-            }
+        int start;
+        try {
+            start = graph.indexOf(Integer.parseInt(startId));
+        } catch (NumberFormatException e) {
+            start = -1;
         }
 
-        // If the start node is null, return an empty list of animation steps
-        if (startNode == null) {
+        // If the start node is not in the graph, return an empty list of animation steps
+        if (start < 0) {
             System.out.println("⚠️ Start node not found for Bellman-Ford!");
             return animationSteps;
         }
 
-        // Get the connected component containing the starting node
-        Set<StructureNode> connectedComponent = getConnectedComponent(nodes, startNode);
-    
+        String[] ids = new String[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            ids[i] = String.valueOf(graph.idAt(i));
+        }
+
         // Step 1.1: Initialize all distances to "infinite"
         Arrays.fill(distances, Integer.MAX_VALUE);
-    
+        Arrays.fill(previous, -1);
+
         // Step 1.2: sets the starting node distance to 0
-        distances[Integer.parseInt(startId)] = 0;
-
-        // Step 2: Relax all edges (V-1) times
-        for(int i = 1; i < nodeCount; i++)
-        {
-            for(StructureRoad edge : edges)
-            {
-                int u = edge.getFromStructure().getId();
-                int v = edge.getToStructure().getId();
-                int weight = edge.getWeight();
-
-                // Only relax edges within the connected component
-                if (connectedComponent.contains(edge.getFromStructure()) && connectedComponent.contains(edge.getToStructure())) {
-                    if(distances[u] != Integer.MAX_VALUE && distances[u] + weight < distances[v])
-                    {
-                        distances[v] = distances[u] + weight;
-                        previous[v] = String.valueOf(u);
+        distances[start] = 0;
 
-                        // 👇 Animation step showing "visit" (updating path)Y
-                        animationSteps.add(new AnimationStep("visit", String.valueOf(u), String.valueOf(v), weight));
+        // Step 2: Relax all edges (V-1) times, stopping early once a pass changes nothing
+        boolean changed = true;
+        for (int i = 1; i < nodeCount && changed; i++) {
+            changed = false;
+            for (int u = 0; u < nodeCount; u++) {
+                for (int e = graph.rowStart(u); e < graph.rowEnd(u); e++) {
+                    int v = graph.targetAt(e);
+                    int weight = graph.weightAt(e);
+
+                    if (distances[u] != Integer.MAX_VALUE && distances[u] + weight < distances[v]) {
+                        distances[v] = distances[u] + weight;
+                        previous[v] = u;
+                        previousWeight[v] = weight;
+                        changed = true;
 
+                        // 👇 Animation step showing "visit" (updating path)
+                        animationSteps.add(new AnimationStep("visit", ids[u], ids[v], weight));
                     }
                 }
             }
         }
 
         // Step 3: Finalize the shortest paths
-         for (int v = 0; v < nodeCount; v++) {
-            if (previous[v] != null) {
-                int from = Integer.parseInt(previous[v]);
-                int to = v;
-                int weight = findEdgeWeight(edges, from, to);
-
-                animationSteps.add(new AnimationStep("finalize", String.valueOf(from), String.valueOf(to), weight));
+        for (int v = 0; v < nodeCount; v++) {
+            if (previous[v] != -1) {
+                animationSteps.add(new AnimationStep("finalize", ids[previous[v]], ids[v], previousWeight[v]));
             }
         }
-        
-        return animationSteps; // temporary, so no red error yet
+
+        return animationSteps;
     }
-    
+
 }
@@ -0,0 +1,378 @@
+package com.example.demo.mechanics.pathfinding;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * <h1>BlockedFloydWarshall</h1>
+ * <p>
+ * All-pairs shortest paths on a flat {@code int[]} distance matrix.
+ * </p>
+ * <p>
+ * The matrix is stored row-major ({@code dist[i * n + j]}) together with a matching successor
+ * matrix for path reconstruction. Graphs with at least {@link #PARALLEL_THRESHOLD} nodes are
+ * processed in {@link #BLOCK_SIZE}-square tiles: for each
+ * block of k values the diagonal tile is solved first, then the tiles in its block row and block
+ * column, then all remaining tiles. The tiles inside the last two phases do not depend on each
+ * other, so they run in parallel on the common fork-join pool, and each tile stays small enough
+ * to be reused from cache.
+ * </p>
+ * <p>
+ * The "visit" steps of the animation are recorded separately by {@link #recordVisits}, which runs
+ * the classic k-i-j loop so they come out in the same order as the textbook animation, and gives
+ * up on graphs whose trace would exceed {@link #MAX_VISIT_STEPS} steps. The
+ * distances themselves always come from {@link #compute(StructureGraphSnapshot)}, which is what
+ * {@code Village#getAllPairsDistances()} caches.
+ * </p>
+ */
+public class BlockedFloydWarshall {
+
+    /**
+     * Distance value of an unreachable pair.
+     */
+    public static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * Edge length of a tile, in nodes.
+     */
+    static final int BLOCK_SIZE = 64;
+
+    /**
+     * Smallest node count for which the tiled parallel version is used.
+     */
+    static final int PARALLEL_THRESHOLD = 2 * BLOCK_SIZE;
+
+    /**
+     * Largest number of "visit" steps recorded for one animation; longer traces are dropped.
+     * The village page plays a step every 8 ms, so this is about 40 seconds of animation.
+     */
+    static final int MAX_VISIT_STEPS = 5_000;
+
+    /**
+     * <h1>compute Method</h1>
+     * <p>
+     * Computes all-pairs shortest distances for a graph snapshot. Roads are treated as undirected
+     * when the matrix is initialised, matching {@link FloydWarshall}.
+     * </p>
+     *
+     * @param graph The structure graph snapshot.
+     * @return The distance and successor matrices.
+     */
+    public static Result compute(StructureGraphSnapshot graph) {
+        return compute(graph, graph.nodeCount() >= PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Computes all-pairs shortest distances with the tiled or the classic loop.
+     *
+     * @param graph   The structure graph snapshot.
+     * @param blocked Whether to use the tiled parallel version.
+     * @return The distance and successor matrices.
+     */
+    static Result compute(StructureGraphSnapshot graph, boolean blocked) {
+        int n = graph.nodeCount();
+        int[] dist = new int[n * n];
+        int[] next = new int[n * n];
+        initialise(graph, dist, next);
+        if (blocked) {
+            runBlocked(dist, next, n);
+        } else {
+            runClassic(dist, next, n, null);
+        }
+        return new Result(graph, dist, next);
+    }
+
+    /**
+     * <h1>recordVisits Method</h1>
+     * <p>
+     * Runs the classic k-i-j loop and records every improvement as a "visit" step, in loop order.
+     * </p>
+     * <p>
+     * The trace can hold up to n³ steps, so it is only recorded for graphs below
+     * {@link #PARALLEL_THRESHOLD} nodes, and the run stops as soon as it passes
+     * {@link #MAX_VISIT_STEPS} steps. In both cases no steps are returned, and the animation
+     * shows the "finalize" steps only.
+     * </p>
+     *
+     * @param graph The structure graph snapshot.
+     * @return The "visit" steps, or an empty list if the graph is too large to animate them.
+     */
+    public static List<FloydWarshall.AnimationStep> recordVisits(StructureGraphSnapshot graph) {
+        int n = graph.nodeCount();
+        if (n >= PARALLEL_THRESHOLD) {
+            return Collections.emptyList();
+        }
+        int[] dist = new int[n * n];
+        int[] next = new int[n * n];
+        initialise(graph, dist, next);
+        StepRecorder recorder = new StepRecorder(MAX_VISIT_STEPS);
+        if (!runClassic(dist, next, n, recorder)) {
+            return Collections.emptyList();
+        }
+
+        List<FloydWarshall.AnimationStep> visits = new ArrayList<>(recorder.size / 3);
+        int[] data = recorder.data;
+        for (int s = 0; s < recorder.size; s += 3) {
+            visits.add(new FloydWarshall.AnimationStep("visit",
+                    String.valueOf(graph.idAt(data[s])), String.valueOf(graph.idAt(data[s + 1])), data[s + 2]));
+        }
+        return visits;
+    }
+
+    /**
+     * Fills the distance and successor matrices with the roads of the snapshot, in both directions.
+     */
+    private static void initialise(StructureGraphSnapshot graph, int[] dist, int[] next) {
+        int n = graph.nodeCount();
+        Arrays.fill(dist, INFINITY);
+        Arrays.fill(next, -1);
+        for (int i = 0; i < n; i++) {
+            dist[i * n + i] = 0;
+        }
+
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.rowStart(u); e < graph.rowEnd(u); e++) {
+                int v = graph.targetAt(e);
+                dist[u * n + v] = graph.weightAt(e);
+                next[u * n + v] = v;
+                dist[v * n + u] = graph.weightAt(e);
+                next[v * n + u] = u;
+            }
+        }
+    }
+
+    /**
+     * The textbook k-i-j loop, optionally recording every improvement.
+     *
+     * @return False if the recorder ran out of room and the loop stopped early.
+     */
+    private static boolean runClassic(int[] dist, int[] next, int n, StepRecorder recorder) {
+        for (int k = 0; k < n; k++) {
+            int rowK = k * n;
+            for (int i = 0; i < n; i++) {
+                int rowI = i * n;
+                if (dist[rowI + k] == INFINITY) continue;
+                for (int j = 0; j < n; j++) {
+                    int ik = dist[rowI + k];
+                    int kj = dist[rowK + j];
+                    if (kj != INFINITY && ik + kj < dist[rowI + j]) {
+                        dist[rowI + j] = ik + kj;
+                        next[rowI + j] = next[rowI + k];
+                        if (recorder != null && !recorder.add(i, j, ik + kj)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The tiled three-phase version; phases two and three run their tiles in parallel.
+     */
+    private static void runBlocked(int[] dist, int[] next, int n) {
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int kb = 0; kb < blocks; kb++) {
+            final int pivot = kb;
+
+            // Phase 1: the diagonal tile depends only on itself.
+            updateTile(dist, next, n, pivot, pivot, pivot);
+
+            // Phase 2: the tiles in the pivot row and pivot column only read the diagonal tile.
+            IntStream.range(0, 2 * blocks).parallel().forEach(t -> {
+                int other = t % blocks;
+                if (other == pivot) return;
+                if (t < blocks) {
+                    updateTile(dist, next, n, pivot, pivot, other);
+                } else {
+                    updateTile(dist, next, n, pivot, other, pivot);
+                }
+            });
+
+            // Phase 3: every other tile reads its pivot-row and pivot-column tiles.
+            IntStream.range(0, blocks * blocks).parallel().forEach(t -> {
+                int ib = t / blocks;
+                int jb = t % blocks;
+                if (ib == pivot || jb == pivot) return;
+                updateTile(dist, next, n, pivot, ib, jb);
+            });
+        }
+    }
+
+    /**
+     * Relaxes tile (ib, jb) through every k in block kb.
+     */
+    private static void updateTile(int[] dist, int[] next, int n, int kb, int ib, int jb) {
+        int kEnd = Math.min(n, (kb + 1) * BLOCK_SIZE);
+        int iEnd = Math.min(n, (ib + 1) * BLOCK_SIZE);
+        int jStart = jb * BLOCK_SIZE;
+        int jEnd = Math.min(n, jStart + BLOCK_SIZE);
+        for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+            int rowK = k * n;
+            for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+                int rowI = i * n;
+                int ik = dist[rowI + k];
+                if (ik == INFINITY) continue;
+                int viaK = next[rowI + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    int kj = dist[rowK + j];
+                    if (kj != INFINITY && ik + kj < dist[rowI + j]) {
+                        dist[rowI + j] = ik + kj;
+                        next[rowI + j] = viaK;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable int buffer of at most {@code maxSteps} (from, to, weight) triples.
+     */
+    private static final class StepRecorder {
+        private final int maxSteps;
+        private int[] data = new int[48];
+        private int size;
+
+        StepRecorder(int maxSteps) {
+            this.maxSteps = maxSteps;
+        }
+
+        /**
+         * @return False, without recording, if the buffer already holds {@code maxSteps} triples.
+         */
+        boolean add(int from, int to, int weight) {
+            if (size / 3 >= maxSteps) {
+                return false;
+            }
+            if (size + 3 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = from;
+            data[size++] = to;
+            data[size++] = weight;
+            return true;
+        }
+    }
+
+    /**
+     * <h1>Result</h1>
+     * <p>
+     * The all-pairs distance and successor matrices of one run, indexed by the snapshot's dense
+     * node indices.
+     * </p>
+     */
+    public static final class Result {
+        private final StructureGraphSnapshot graph;
+        private final int n;
+        private final int[] dist;
+        private final int[] next;
+
+        private Result(StructureGraphSnapshot graph, int[] dist, int[] next) {
+            this.graph = graph;
+            this.n = graph.nodeCount();
+            this.dist = dist;
+            this.next = next;
+        }
+
+        /**
+         * Gets the snapshot the distances were computed for.
+         *
+         * @return The structure graph snapshot.
+         */
+        public StructureGraphSnapshot getGraph() {
+            return graph;
+        }
+
+        /**
+         * Gets the shortest distance between two nodes.
+         *
+         * @param from The dense index of the source node.
+         * @param to   The dense index of the target node.
+         * @return The distance, or {@link #INFINITY} if the target is unreachable.
+         */
+        public int distance(int from, int to) {
+            return dist[from * n + to];
+        }
+
+        /**
+         * Gets the next node on the shortest path between two nodes.
+         *
+         * @param from The dense index of the source node.
+         * @param to   The dense index of the target node.
+         * @return The dense index of the next node, or -1 if there is no path.
+         */
+        public int nextHop(int from, int to) {
+            return next[from * n + to];
+        }
+
+        /**
+         * Checks that every node reaches at least one other node.
+         *
+         * @return True if no node is isolated.
+         */
+        public boolean isFullyConnected() {
+            for (int i = 0; i < n; i++) {
+                boolean hasConnection = false;
+                for (int j = 0; j < n; j++) {
+                    if (i != j && dist[i * n + j] != INFINITY) {
+                        hasConnection = true;
+                        break;
+                    }
+                }
+                if (!hasConnection) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * <h1>toAnimationSteps Method</h1>
+         * <p>
+         * Builds the Floyd-Warshall animation: the given "visit" steps, followed by one
+         * "finalize" step for every road used by some shortest path.
+         * </p>
+         *
+         * @param visitSteps The "visit" steps to start with, e.g. from {@link #recordVisits}.
+         * @return The animation steps, or an empty list if some node is isolated.
+         */
+        public List<FloydWarshall.AnimationStep> toAnimationSteps(List<FloydWarshall.AnimationStep> visitSteps) {
+            if (!isFullyConnected()) {
+                System.out.println("Graph is not fully connected, skipping Floyd-Warshall animation.");
+                return Collections.emptyList();
+            }
+
+            String[] ids = new String[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = String.valueOf(graph.idAt(i));
+            }
+
+            List<FloydWarshall.AnimationStep> animationSteps = new ArrayList<>(visitSteps);
+
+            // Reconstruct only actual used edges; a road counts once in either direction.
+            boolean[] finalized = new boolean[n * n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i == j || next[i * n + j] == -1 || dist[i * n + j] == INFINITY) continue;
+                    int u = i;
+                    int hops = 0;
+                    while (u != j && hops++ < n) {
+                        int v = next[u * n + j];
+                        if (v == -1) break;
+
+                        if (!finalized[u * n + v]) {
+                            animationSteps.add(new FloydWarshall.AnimationStep("finalize", ids[u], ids[v], dist[u * n + v]));
+                            finalized[u * n + v] = true;
+                            finalized[v * n + u] = true;
+                        }
+
+                        u = v;
+                    }
+                }
+            }
+
+            return animationSteps;
+        }
+    }
+}
@@ -13,7 +13,7 @@ public class Dijkstra {
      * It records the action performed ("visit" or "finalize"), the starting node ("from"),
      * and the destination node ("to").
      */
-    public static class AnimationStep {
+    public static class AnimationStep implements PathfindingStep {
         private String action; // "visit" or "finalize"
         private String from;
         private String to;
@@ -55,6 +55,14 @@ public class Dijkstra {
         public String getTo() {
             return to;
         }
+
+        /**
+         * Gets the weight of the road covered by this animation step.
+         * @return The weight of the road.
+         */
+        public int getWeight() {
+            return weight;
+        }
     }
 
     /**
@@ -73,6 +81,8 @@ public class Dijkstra {
         Map<String, Integer> distances = new HashMap<>();
         // previous: Stores the previous node in the shortest path from the start node to each node.
         Map<String, String> previous = new HashMap<>();
+        // previousWeight: Stores the weight of the road from the previous node, the one that gave the shortest distance.
+        Map<String, Integer> previousWeight = new HashMap<>();
         // visited: Keeps track of the nodes that have already been visited.
         Set<String> visited = new HashSet<>();
         // animationSteps: Stores the steps of the algorithm for visualization.
@@ -87,8 +97,8 @@ public class Dijkstra {
         distances.put(startId, 0);
 
         // The main loop of Dijkstra's algorithm.
-        // It continues until all nodes have been visited (or are unreachable).
-        while (visited.size() < nodes.size()) {
+        // It continues until all nodes, including a start node that is only known from the roads, have been visited (or are unreachable).
+        while (visited.size() < distances.size()) {
             // Find the node with the smallest distance that has not yet been visited.
             String current = null;
             int minDistance = Integer.MAX_VALUE;
@@ -131,6 +141,7 @@ public class Dijkstra {
                 if (newDistance < distances.get(neighbor)) {
                     distances.put(neighbor, newDistance);
                     previous.put(neighbor, current);
+                    previousWeight.put(neighbor, weight);
                 }
             }
         }
@@ -139,24 +150,13 @@ public class Dijkstra {
         // This loop iterates over the 'previous' map, which contains the previous node in the shortest path from the start node to each node.
         for (Map.Entry<String, String> entry : previous.entrySet()) {
             if (visited.contains(entry.getKey()) && visited.contains(entry.getValue())) {
-                int from = Integer.parseInt(entry.getValue());
-                int to = Integer.parseInt(entry.getKey());
-                int weight = findEdgeWeight(edges, from, to);
-        
+                int weight = previousWeight.get(entry.getKey());
+
                 animationSteps.add(new AnimationStep("finalize", entry.getValue(), entry.getKey(), weight));
             }
         }
 
         return animationSteps;
     }
-    private static int findEdgeWeight(List<StructureRoad> edges, int from, int to) {
-        for (StructureRoad edge : edges) {
-            if ((edge.getFromStructure().getId() == from && edge.getToStructure().getId() == to) ||
-                (edge.getFromStructure().getId() == to && edge.getToStructure().getId() == from)) {
-                return edge.getWeight();
-            }
-        }
-        return 0; // default, should not happen
-    }
     
 }
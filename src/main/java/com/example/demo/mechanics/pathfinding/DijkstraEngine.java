@@ -0,0 +1,73 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>DijkstraEngine</h1>
+ * <p>
+ * Selects which Dijkstra implementation generates the village animation steps.
+ * </p>
+ * <p>
+ * {@link #LINEAR} is the original {@link Dijkstra} implementation that scans every distance and
+ * every road for each settled node. {@link #BINARY_HEAP} is {@link HeapDijkstra}, which produces the
+ * same kind of steps from int-indexed adjacency and an indexed binary heap. The engine is chosen
+ * with the {@code game.pathfinding.dijkstra-engine} property.
+ * </p>
+ */
+public enum DijkstraEngine {
+
+    LINEAR {
+        @Override
+        public List<Dijkstra.AnimationStep> generateAnimation(List<StructureNode> nodes, List<StructureRoad> edges, String startId) {
+            return Dijkstra.generateDijkstraAnimation(nodes, edges, startId);
+        }
+
+        @Override
+        public List<Dijkstra.AnimationStep> generateAnimation(StructureGraphSnapshot graph, String startId) {
+            // The original implementation only understands object lists, so the snapshot's arcs
+            // (not the nodes' current connections) are turned back into roads.
+            List<StructureRoad> edges = new ArrayList<>(graph.edgeCount());
+            for (int u = 0; u < graph.nodeCount(); u++) {
+                for (int e = graph.rowStart(u); e < graph.rowEnd(u); e++) {
+                    edges.add(new StructureRoad(graph.nodeAt(u), graph.nodeAt(graph.targetAt(e)), graph.weightAt(e)));
+                }
+            }
+            return Dijkstra.generateDijkstraAnimation(graph.getNodes(), edges, startId);
+        }
+    },
+
+    BINARY_HEAP {
+        @Override
+        public List<Dijkstra.AnimationStep> generateAnimation(List<StructureNode> nodes, List<StructureRoad> edges, String startId) {
+            return HeapDijkstra.generateDijkstraAnimation(nodes, edges, startId);
+        }
+
+        @Override
+        public List<Dijkstra.AnimationStep> generateAnimation(StructureGraphSnapshot graph, String startId) {
+            return HeapDijkstra.generateDijkstraAnimation(graph, startId);
+        }
+    };
+
+    /**
+     * Generates the Dijkstra animation steps with this engine.
+     *
+     * @param nodes   The structure nodes of the graph.
+     * @param edges   The structure roads of the graph.
+     * @param startId The ID of the starting node.
+     * @return The list of animation steps.
+     */
+    public abstract List<Dijkstra.AnimationStep> generateAnimation(List<StructureNode> nodes, List<StructureRoad> edges, String startId);
+
+    /**
+     * Generates the Dijkstra animation steps with this engine from a graph snapshot.
+     *
+     * @param graph   The structure graph snapshot.
+     * @param startId The ID of the starting node.
+     * @return The list of animation steps.
+     */
+    public abstract List<Dijkstra.AnimationStep> generateAnimation(StructureGraphSnapshot graph, String startId);
+}
@@ -0,0 +1,96 @@
+package com.example.demo.mechanics.pathfinding;
+
+/**
+ * <h1>DisjointSet</h1>
+ * <p>
+ * Union-find over the integers {@code 0..n-1}.
+ * </p>
+ * <p>
+ * Parents and set sizes live in two int arrays. {@link #find(int)} is iterative and uses path
+ * halving (every visited element is pointed at its grandparent), and {@link #union(int, int)}
+ * hangs the smaller set under the larger one, so both run in near-constant amortized time and
+ * never recurse, however long the chains get.
+ * </p>
+ */
+public final class DisjointSet {
+
+    private final int[] parent;
+    private final int[] size;
+    private int sets;
+
+    /**
+     * <h1>DisjointSet Constructor</h1>
+     * <p>
+     * Constructs {@code n} singleton sets.
+     * </p>
+     *
+     * @param n The number of elements.
+     */
+    public DisjointSet(int n) {
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        sets = n;
+    }
+
+    /**
+     * Finds the representative of the set containing an element.
+     *
+     * @param x The element.
+     * @return The representative element of its set.
+     */
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Merges the sets containing two elements.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     * @return True if the elements were in different sets, false if they already shared one.
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        sets--;
+        return true;
+    }
+
+    /**
+     * Checks whether two elements are in the same set.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     * @return True if they share a set.
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Gets the number of disjoint sets.
+     *
+     * @return The number of sets.
+     */
+    public int setCount() {
+        return sets;
+    }
+}
@@ -3,7 +3,8 @@ package com.example.demo.mechanics.pathfinding;
 import com.example.demo.classes.villageClasses.StructureNode;
 import com.example.demo.classes.villageClasses.StructureRoad;
 
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * <h1>Floyd-Warshall Pathfinding Animation</h1>
@@ -14,7 +15,7 @@ public class FloydWarshall {
     /**
      * AnimationStep class for Floyd-Warshall.
      */
-    public static class AnimationStep {
+    public static class AnimationStep implements PathfindingStep {
         private String action; // "visit" or "finalize"
         private String from;
         private String to;
@@ -45,97 +46,34 @@ public class FloydWarshall {
     }
 
     public static List<AnimationStep> generateFloydWarshallAnimation(List<StructureNode> nodes, List<StructureRoad> edges) {
-        int n = nodes.size();
-        int[][] dist = new int[n][n];
-        int[][] next = new int[n][n];
-
-        // Create a mapping between node IDs and indices
-        Map<Integer, Integer> nodeIdToIndex = new HashMap<>();
-        for (int i = 0; i < n; i++) {
-            nodeIdToIndex.put(nodes.get(i).getId(), i);
-        }
-
-        // Initialize distance and next matrices
-        for (int i = 0; i < n; i++) {
-            Arrays.fill(dist[i], Integer.MAX_VALUE);
-            Arrays.fill(next[i], -1);
-            dist[i][i] = 0;
-        }
-
-        for (StructureRoad edge : edges) {
-            int u = nodeIdToIndex.get(edge.getFromStructure().getId());
-            int v = nodeIdToIndex.get(edge.getToStructure().getId());
-            dist[u][v] = edge.getWeight();
-            next[u][v] = v;
-
-            // If undirected, also set reverse
-            dist[v][u] = edge.getWeight();
-            next[v][u] = u;
-        }
-
-        List<AnimationStep> animationSteps = new ArrayList<>();
-
-        // Floyd-Warshall main loop
-        for (int k = 0; k < n; k++) {
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    if (dist[i][k] != Integer.MAX_VALUE && dist[k][j] != Integer.MAX_VALUE
-                            && dist[i][k] + dist[k][j] < dist[i][j]) {
-                        dist[i][j] = dist[i][k] + dist[k][j];
-                        next[i][j] = next[i][k];
-                        animationSteps.add(new AnimationStep("visit", String.valueOf(nodes.get(i).getId()), String.valueOf(nodes.get(j).getId()), dist[i][j]));
-                    }
-                }
-            }
-        }
-
-        // Reconstruct only actual used edges
-        Set<String> finalizedPairs = new HashSet<>();
-
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (i != j && next[i][j] != -1 && dist[i][j] != Integer.MAX_VALUE) {
-                    int u = i;
-                    while (u != j) {
-                        int v = next[u][j];
-                        if (v == -1) break;
-
-                        String key1 = u + "-" + v;
-                        String key2 = v + "-" + u;
-
-                        if (!finalizedPairs.contains(key1) && !finalizedPairs.contains(key2)) {
-                            animationSteps.add(new AnimationStep("finalize", String.valueOf(nodes.get(u).getId()), String.valueOf(nodes.get(v).getId()), dist[u][v]));
-                            finalizedPairs.add(key1);
-                            finalizedPairs.add(key2);
-                        }
-
-                        u = v;
-                    }
-                }
-            }
-        }
-
-        // Check if the graph is fully connected
-        boolean isFullyConnected = true;
-        for (int i = 0; i < n; i++) {
-            boolean hasConnection = false;
-            for (int j = 0; j < n; j++) {
-                if (i != j && dist[i][j] != Integer.MAX_VALUE) {
-                    hasConnection = true;
-                    break;
-                }
-            }
-            if (!hasConnection) {
-                isFullyConnected = false;
-                break;
-            }
-        }
+        return generateFloydWarshallAnimation(StructureGraphSnapshot.of(nodes, edges));
+    }
 
-        if (!isFullyConnected) {
-            System.out.println("Graph is not fully connected, skipping Floyd-Warshall animation.");
-            return Collections.emptyList();
-        }
+    /**
+     * Runs Floyd-Warshall on a graph snapshot and generates animation steps.
+     * Roads are treated as undirected when the distance matrix is initialised.
+     *
+     * @param graph The structure graph snapshot.
+     * @return The animation steps, or an empty list if some node has no connection at all.
+     * @see BlockedFloydWarshall
+     */
+    public static List<AnimationStep> generateFloydWarshallAnimation(StructureGraphSnapshot graph) {
+        return generateFloydWarshallAnimation(BlockedFloydWarshall.compute(graph));
+    }
 
-        return animationSteps;
+    /**
+     * Generates animation steps from all-pairs distances that were already computed, e.g.
+     * {@code village.getAllPairsDistances()}. The "finalize" steps come from those distances; the
+     * "visit" steps are recorded with a separate classic run, and only for graphs whose trace is
+     * short enough to animate (see {@link BlockedFloydWarshall#recordVisits}).
+     *
+     * @param distances The all-pairs distances of a graph snapshot.
+     * @return The animation steps, or an empty list if some node has no connection at all.
+     */
+    public static List<AnimationStep> generateFloydWarshallAnimation(BlockedFloydWarshall.Result distances) {
+        List<AnimationStep> visits = distances.isFullyConnected()
+                ? BlockedFloydWarshall.recordVisits(distances.getGraph())
+                : Collections.emptyList();
+        return distances.toAnimationSteps(visits);
     }
 }
@@ -0,0 +1,145 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h1>HeapDijkstra</h1>
+ * <p>
+ * Dijkstra's algorithm over a {@link StructureGraphSnapshot} with an {@link IndexedMinHeap}.
+ * </p>
+ * <p>
+ * Produces the same kind of {@link Dijkstra.AnimationStep} sequence as
+ * {@link Dijkstra#generateDijkstraAnimation}: roads are treated as undirected, a "visit" step is
+ * recorded for every road from the settled node to an unsettled neighbour (in road order), and a
+ * "finalize" step is recorded for every edge of the resulting shortest-path tree. The next node is
+ * taken from the heap instead of a scan over all distances, and only the roads incident to the
+ * settled node are inspected, so a run costs O((V + E) log V) instead of O(V·E).
+ * </p>
+ */
+public class HeapDijkstra {
+
+    /**
+     * <h1>generateDijkstraAnimation Method</h1>
+     * <p>
+     * Generates a list of animation steps that visualize Dijkstra's algorithm.
+     * </p>
+     * <p>
+     * The finalize step of a node carries the weight of the road that produced its final distance.
+     * Like {@link Dijkstra#generateDijkstraAnimation}, a start node that is missing from the node
+     * list but is the end of some road still counts as part of the graph.
+     * </p>
+     *
+     * @param nodes   A list of StructureNode objects representing the nodes in the graph.
+     * @param edges   A list of StructureRoad objects representing the edges in the graph.
+     * @param startId The ID of the starting node for Dijkstra's algorithm.
+     * @return A list of AnimationStep objects, or an empty list if the start node is in neither list.
+     */
+    public static List<Dijkstra.AnimationStep> generateDijkstraAnimation(List<StructureNode> nodes, List<StructureRoad> edges, String startId) {
+        StructureNode roadStart = findRoadOnlyStart(nodes, edges, startId);
+        if (roadStart != null) {
+            nodes = new ArrayList<>(nodes);
+            nodes.add(roadStart);
+        }
+        return generateDijkstraAnimation(StructureGraphSnapshot.of(nodes, edges), startId);
+    }
+
+    /**
+     * <h1>generateDijkstraAnimation Method</h1>
+     * <p>
+     * Generates the Dijkstra animation steps from a prebuilt graph snapshot.
+     * </p>
+     *
+     * @param graph   The structure graph snapshot. Its arcs are used in both directions.
+     * @param startId The ID of the starting node for Dijkstra's algorithm.
+     * @return A list of AnimationStep objects, or an empty list if the start node is not in the graph.
+     */
+    public static List<Dijkstra.AnimationStep> generateDijkstraAnimation(StructureGraphSnapshot graph, String startId) {
+        List<Dijkstra.AnimationStep> animationSteps = new ArrayList<>();
+        StructureGraphSnapshot undirected = graph.undirected();
+        int n = undirected.nodeCount();
+
+        int start;
+        try {
+            start = undirected.indexOf(Integer.parseInt(startId));
+        } catch (NumberFormatException e) {
+            start = -1;
+        }
+        if (start < 0) {
+            return animationSteps;
+        }
+
+        String[] ids = new String[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = String.valueOf(undirected.idAt(i));
+        }
+
+        int[] distances = new int[n];
+        int[] previous = new int[n];
+        int[] previousWeight = new int[n];
+        boolean[] visited = new boolean[n];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(previous, -1);
+
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        distances[start] = 0;
+        heap.insertOrDecrease(start, 0);
+
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+            visited[current] = true;
+
+            for (int k = undirected.rowStart(current); k < undirected.rowEnd(current); k++) {
+                int neighbour = undirected.targetAt(k);
+                if (visited[neighbour]) continue;
+
+                int weight = undirected.weightAt(k);
+                animationSteps.add(new Dijkstra.AnimationStep("visit", ids[current], ids[neighbour], weight));
+
+                int newDistance = distances[current] + weight;
+                if (newDistance < distances[neighbour]) {
+                    distances[neighbour] = newDistance;
+                    previous[neighbour] = current;
+                    previousWeight[neighbour] = weight;
+                    heap.insertOrDecrease(neighbour, newDistance);
+                }
+            }
+        }
+
+        // Highlight the shortest-path tree.
+        for (int v = 0; v < n; v++) {
+            int u = previous[v];
+            if (u != -1 && visited[u] && visited[v]) {
+                animationSteps.add(new Dijkstra.AnimationStep("finalize", ids[u], ids[v], previousWeight[v]));
+            }
+        }
+
+        return animationSteps;
+    }
+
+    /**
+     * Finds the start node among the road ends when it is not in the node list.
+     *
+     * @return The start node, or null if it is in the node list or on no road.
+     */
+    private static StructureNode findRoadOnlyStart(List<StructureNode> nodes, List<StructureRoad> edges, String startId) {
+        for (StructureNode node : nodes) {
+            if (String.valueOf(node.getId()).equals(startId)) {
+                return null;
+            }
+        }
+        for (StructureRoad road : edges) {
+            if (String.valueOf(road.getFromStructure().getId()).equals(startId)) {
+                return road.getFromStructure();
+            }
+            if (String.valueOf(road.getToStructure().getId()).equals(startId)) {
+                return road.getToStructure();
+            }
+        }
+        return null;
+    }
+}
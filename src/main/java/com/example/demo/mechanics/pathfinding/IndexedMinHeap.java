@@ -0,0 +1,147 @@
+package com.example.demo.mechanics.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * <h1>IndexedMinHeap</h1>
+ * <p>
+ * A binary min-heap over the dense node indices {@code 0..capacity-1}, keyed by an int priority.
+ * </p>
+ * <p>
+ * Every index can be in the heap at most once. The heap keeps a position table next to the
+ * heap array, so {@link #insertOrDecrease(int, int)} can lower the key of a node that is already
+ * queued in O(log n) instead of pushing a duplicate entry. Ties are broken by the smaller index
+ * so the extraction order is deterministic.
+ * </p>
+ */
+public class IndexedMinHeap {
+
+    private final int[] heap;      // heap slot -> node index
+    private final int[] position;  // node index -> heap slot, or -1 when not queued
+    private final int[] keys;      // node index -> current key
+    private int size;
+
+    /**
+     * <h1>IndexedMinHeap Constructor</h1>
+     * <p>
+     * Creates an empty heap able to hold the indices {@code 0..capacity-1}.
+     * </p>
+     *
+     * @param capacity The number of distinct indices the heap can hold.
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return True if no index is queued.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the given index is currently queued.
+     *
+     * @param index The node index.
+     * @return True if the index is in the heap.
+     */
+    public boolean contains(int index) {
+        return position[index] != -1;
+    }
+
+    /**
+     * <h1>insertOrDecrease Method</h1>
+     * <p>
+     * Queues the index with the given key, or lowers its key if it is already queued.
+     * A key that is not smaller than the current one is ignored.
+     * </p>
+     *
+     * @param index The node index.
+     * @param key   The new key.
+     */
+    public void insertOrDecrease(int index, int key) {
+        int slot = position[index];
+        if (slot == -1) {
+            slot = size++;
+            heap[slot] = index;
+            position[index] = slot;
+            keys[index] = key;
+            siftUp(slot);
+        } else if (key < keys[index]) {
+            keys[index] = key;
+            siftUp(slot);
+        }
+    }
+
+    /**
+     * <h1>pollMin Method</h1>
+     * <p>
+     * Removes and returns the index with the smallest key.
+     * </p>
+     *
+     * @return The index with the smallest key, or -1 if the heap is empty.
+     */
+    public int pollMin() {
+        if (size == 0) {
+            return -1;
+        }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int slot) {
+        int index = heap[slot];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = heap[parentSlot];
+            if (!less(index, parent)) {
+                break;
+            }
+            heap[slot] = parent;
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int index = heap[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int childSlot = 2 * slot + 1;
+            int child = heap[childSlot];
+            int rightSlot = childSlot + 1;
+            if (rightSlot < size && less(heap[rightSlot], child)) {
+                childSlot = rightSlot;
+                child = heap[childSlot];
+            }
+            if (!less(child, index)) {
+                break;
+            }
+            heap[slot] = child;
+            position[child] = slot;
+            slot = childSlot;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+}
@@ -14,63 +14,44 @@ public class MSTBuilder {
      * The algorithm sorts all possible roads by weight and iteratively adds the road with the smallest weight
      * that doesn't create a cycle, until all villages are connected.
      *
+     * Villages are numbered by their position in the list and tracked in an int-indexed {@link DisjointSet}.
+     * The roads are sorted through a copy of packed {@code (weight, index)} long keys, so the caller's list is
+     * left untouched and roads of equal weight keep their input order. The scan stops as soon as V-1 roads are
+     * accepted. Roads that touch a village outside the list are ignored.
+     *
      * @param villages The list of villages in the game.
      * @param allRoads The list of all possible roads between villages.
-     * @return A list of roads that form the MST.
+     * @return A list of roads that form the MST (a spanning forest if the roads do not connect every village).
      */
     public static List<Road> buildMST(List<Village> villages, List<Road> allRoads) {
-        allRoads.sort(Comparator.comparingInt(Road::getWeight));
+        Map<Village, Integer> index = new HashMap<>(villages.size() * 2);
+        for (int i = 0; i < villages.size(); i++) {
+            index.putIfAbsent(villages.get(i), i);
+        }
 
-        Map<Village, Village> parent = new HashMap<>();
-        for (Village v : villages) {
-            parent.put(v, v);
+        // Weight in the high half, road position in the low half: sorting the keys sorts by weight, stably.
+        long[] keys = new long[allRoads.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) allRoads.get(i).getWeight() << 32) | i;
         }
+        Arrays.sort(keys);
 
-        List<Road> mst = new ArrayList<>();
+        DisjointSet components = new DisjointSet(villages.size());
+        List<Road> mst = new ArrayList<>(Math.max(0, villages.size() - 1));
 
-        for (Road road : allRoads) {
-            Village v1 = road.getFromVillage();
-            Village v2 = road.getToVillage();
+        for (long key : keys) {
+            if (mst.size() >= villages.size() - 1) break;
 
-            if (find(parent, v1) != find(parent, v2)) {
+            Road road = allRoads.get((int) key);
+            Integer v1 = index.get(road.getFromVillage());
+            Integer v2 = index.get(road.getToVillage());
+            if (v1 == null || v2 == null) continue;
+
+            if (components.union(v1, v2)) {
                 mst.add(road);
-                union(parent, v1, v2);
             }
         }
 
         return mst;
     }
-
-    /**
-     * ## find
-     *
-     * Finds the root of the connected component that a village belongs to, implementing path compression.
-     * Path compression optimizes future find operations by making each node on the path to the root point directly to the root.
-     *
-     * @param parent The map representing the parent of each village in the Disjoint Set.
-     * @param v      The village to find the root for.
-     * @return The root village of the connected component.
-     */
-    private static Village find(Map<Village, Village> parent, Village v) {
-        if (parent.get(v) != v) {
-            parent.put(v, find(parent, parent.get(v)));
-        }
-        return parent.get(v);
-    }
-
-    /**
-     * ## union
-     *
-     * Unions the connected components of two villages by setting the parent of one root to the other.
-     * This operation merges the two sets, indicating that the villages are now part of the same connected component.
-     *
-     * @param parent The map representing the parent of each village in the Disjoint Set.
-     * @param v1     The first village.
-     * @param v2     The second village.
-     */
-    private static void union(Map<Village, Village> parent, Village v1, Village v2) {
-        Village root1 = find(parent, v1);
-        Village root2 = find(parent, v2);
-        parent.put(root1, root2);
-    }
 }
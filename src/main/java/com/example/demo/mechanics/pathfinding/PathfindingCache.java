@@ -0,0 +1,66 @@
+package com.example.demo.mechanics.pathfinding;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <h1>PathfindingCache</h1>
+ * <p>
+ * Per-village store of pathfinding results, each tagged with the structural version it was
+ * computed for.
+ * </p>
+ * <p>
+ * A lookup passes the village's current structural version. If the stored result has the same
+ * version it is returned as is; otherwise the result is recomputed and replaced. Results are
+ * shared between requests, so callers must treat them as read-only. Two threads that miss at the
+ * same time may both compute the value; the last one stored wins.
+ * </p>
+ */
+public class PathfindingCache {
+
+    /**
+     * A cached value and the structural version it belongs to.
+     */
+    private static final class Entry {
+        private final long version;
+        private final Object value;
+
+        private Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * <h1>get Method</h1>
+     * <p>
+     * Returns the cached value for a key if it was computed for the given version, and computes
+     * and stores it otherwise.
+     * </p>
+     *
+     * @param key     The result name, e.g. {@code "dijkstra:0"}.
+     * @param version The current structural version of the village.
+     * @param compute Computes the value on a miss.
+     * @param <T>     The type of the cached value.
+     * @return The cached or freshly computed value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, long version, Supplier<T> compute) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version) {
+            return (T) entry.value;
+        }
+        T value = compute.get();
+        entries.put(key, new Entry(version, value));
+        return value;
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.mechanics.pathfinding;
+
+/**
+ * <h1>PathfindingStep</h1>
+ * <p>
+ * One step of a pathfinding animation, as shared by the Dijkstra, Bellman-Ford and
+ * Floyd-Warshall animations.
+ * </p>
+ * <p>
+ * The common view lets {@link AnimationStepCodec} encode the steps of every algorithm the same way.
+ * </p>
+ */
+public interface PathfindingStep {
+
+    /**
+     * Gets the action performed in this step.
+     *
+     * @return The action, such as "visit" or "finalize".
+     */
+    String getAction();
+
+    /**
+     * Gets the ID of the node the step starts from.
+     *
+     * @return The ID of the starting node.
+     */
+    String getFrom();
+
+    /**
+     * Gets the ID of the node the step leads to.
+     *
+     * @return The ID of the destination node.
+     */
+    String getTo();
+
+    /**
+     * Gets the weight of the road (or path) the step covers.
+     *
+     * @return The weight.
+     */
+    int getWeight();
+}
@@ -0,0 +1,306 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+
+import java.util.*;
+
+/**
+ * <h1>StructureGraphSnapshot</h1>
+ * <p>
+ * An immutable compressed sparse row (CSR) copy of a village structure graph.
+ * </p>
+ * <p>
+ * Nodes are renumbered to dense indices {@code 0..n-1} in list order. The roads leaving node
+ * {@code u} are stored at positions {@code offsets[u]..offsets[u+1]-1} of the {@code targets} and
+ * {@code weights} arrays, in the order they were found in the input. Every pathfinding algorithm in
+ * this package can run on these flat int arrays instead of walking {@link StructureNode} and
+ * {@link StructureRoad} objects, and callers can build the snapshot once per request and hand the
+ * same instance to all of them.
+ * </p>
+ * <p>
+ * Roads are read as directed arcs from {@link StructureRoad#getFromStructure()} to
+ * {@link StructureRoad#getToStructure()}. Roads that touch a node outside the snapshot are dropped.
+ * </p>
+ */
+public final class StructureGraphSnapshot {
+
+    private final StructureNode[] nodes;
+    private final int[] nodeIds;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    // ID -> dense index: a direct table when IDs are small and non-negative, otherwise a map.
+    private final int[] indexTable;
+    private final Map<Integer, Integer> indexMap;
+
+    private volatile StructureGraphSnapshot undirected;
+
+    private StructureGraphSnapshot(StructureNode[] nodes, int[] nodeIds, int[] offsets, int[] targets, int[] weights,
+                                   int[] indexTable, Map<Integer, Integer> indexMap) {
+        this.nodes = nodes;
+        this.nodeIds = nodeIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.indexTable = indexTable;
+        this.indexMap = indexMap;
+    }
+
+    /**
+     * <h1>of Method</h1>
+     * <p>
+     * Builds a snapshot from the structure nodes and the roads in their
+     * {@link StructureNode#getConnections()} lists.
+     * </p>
+     *
+     * @param structureNodes The structure nodes, e.g. {@code village.getStructuresList()}.
+     * @return The snapshot.
+     */
+    public static StructureGraphSnapshot of(List<StructureNode> structureNodes) {
+        List<StructureRoad> roads = new ArrayList<>();
+        for (StructureNode node : structureNodes) {
+            roads.addAll(node.getConnections());
+        }
+        return of(structureNodes, roads);
+    }
+
+    /**
+     * <h1>of Method</h1>
+     * <p>
+     * Builds a snapshot from the structure nodes and an explicit list of roads.
+     * </p>
+     *
+     * @param structureNodes The structure nodes.
+     * @param roads          The roads between them.
+     * @return The snapshot.
+     */
+    public static StructureGraphSnapshot of(List<StructureNode> structureNodes, List<StructureRoad> roads) {
+        int n = structureNodes.size();
+        StructureNode[] nodes = structureNodes.toArray(new StructureNode[0]);
+        int[] nodeIds = new int[n];
+
+        int maxId = -1;
+        boolean nonNegative = true;
+        for (int i = 0; i < n; i++) {
+            int id = nodes[i].getId();
+            nodeIds[i] = id;
+            maxId = Math.max(maxId, id);
+            nonNegative &= id >= 0;
+        }
+
+        int[] indexTable = null;
+        Map<Integer, Integer> indexMap = null;
+        if (nonNegative && maxId < Math.max(16, 4 * n)) {
+            indexTable = new int[maxId + 1];
+            Arrays.fill(indexTable, -1);
+            for (int i = 0; i < n; i++) {
+                if (indexTable[nodeIds[i]] == -1) indexTable[nodeIds[i]] = i;
+            }
+        } else {
+            indexMap = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                indexMap.putIfAbsent(nodeIds[i], i);
+            }
+        }
+
+        StructureGraphSnapshot lookup = new StructureGraphSnapshot(nodes, nodeIds, null, null, null, indexTable, indexMap);
+
+        // First pass: resolve arc endpoints and count out-degrees.
+        int[] sources = new int[roads.size()];
+        int[] dests = new int[roads.size()];
+        int[] arcWeights = new int[roads.size()];
+        int[] offsets = new int[n + 1];
+        int m = 0;
+        for (StructureRoad road : roads) {
+            int u = lookup.indexOf(road.getFromStructure().getId());
+            int v = lookup.indexOf(road.getToStructure().getId());
+            if (u < 0 || v < 0) continue;
+            sources[m] = u;
+            dests[m] = v;
+            arcWeights[m] = road.getWeight();
+            offsets[u + 1]++;
+            m++;
+        }
+
+        // Second pass: prefix sums and a stable scatter into the row arrays.
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            int slot = cursor[sources[e]]++;
+            targets[slot] = dests[e];
+            weights[slot] = arcWeights[e];
+        }
+
+        return new StructureGraphSnapshot(nodes, nodeIds, offsets, targets, weights, indexTable, indexMap);
+    }
+
+    /**
+     * <h1>undirected Method</h1>
+     * <p>
+     * Returns a snapshot over the same nodes where every arc {@code u -> v} is also present as
+     * {@code v -> u}. Self-loops are dropped, and each row keeps the arcs in the order of this
+     * snapshot. The result is built on first use and then reused.
+     * </p>
+     *
+     * @return The undirected view of this snapshot.
+     */
+    public StructureGraphSnapshot undirected() {
+        StructureGraphSnapshot result = undirected;
+        if (result == null) {
+            result = buildUndirected();
+            undirected = result;
+        }
+        return result;
+    }
+
+    private StructureGraphSnapshot buildUndirected() {
+        int n = nodes.length;
+        int[] degree = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (u == v) continue;
+                degree[u + 1]++;
+                degree[v + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            degree[i + 1] += degree[i];
+        }
+        int[] cursor = Arrays.copyOf(degree, n);
+        int[] undirectedTargets = new int[degree[n]];
+        int[] undirectedWeights = new int[degree[n]];
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (u == v) continue;
+                undirectedTargets[cursor[u]] = v;
+                undirectedWeights[cursor[u]++] = weights[e];
+                undirectedTargets[cursor[v]] = u;
+                undirectedWeights[cursor[v]++] = weights[e];
+            }
+        }
+        StructureGraphSnapshot result = new StructureGraphSnapshot(nodes, nodeIds, degree, undirectedTargets, undirectedWeights, indexTable, indexMap);
+        result.undirected = result;
+        return result;
+    }
+
+    /**
+     * Gets the number of nodes.
+     *
+     * @return The number of nodes.
+     */
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Gets the number of arcs.
+     *
+     * @return The number of arcs.
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets the dense index of a structure node ID.
+     *
+     * @param id The structure node ID.
+     * @return The dense index, or -1 if the ID is not in the snapshot.
+     */
+    public int indexOf(int id) {
+        if (indexTable != null) {
+            return id >= 0 && id < indexTable.length ? indexTable[id] : -1;
+        }
+        Integer index = indexMap.get(id);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the structure node ID at a dense index.
+     *
+     * @param index The dense index.
+     * @return The structure node ID.
+     */
+    public int idAt(int index) {
+        return nodeIds[index];
+    }
+
+    /**
+     * Gets the structure node at a dense index.
+     *
+     * @param index The dense index.
+     * @return The structure node.
+     */
+    public StructureNode nodeAt(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Gets the structure nodes in dense index order.
+     *
+     * @return An unmodifiable list of the structure nodes.
+     */
+    public List<StructureNode> getNodes() {
+        return Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    /**
+     * Gets the first arc position of a node's row.
+     *
+     * @param index The dense node index.
+     * @return The first position in {@link #targetAt(int)}/{@link #weightAt(int)} for this node.
+     */
+    public int rowStart(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Gets the position just past a node's row.
+     *
+     * @param index The dense node index.
+     * @return The exclusive end position of this node's row.
+     */
+    public int rowEnd(int index) {
+        return offsets[index + 1];
+    }
+
+    /**
+     * Gets the target node index of an arc.
+     *
+     * @param arc The arc position.
+     * @return The dense index of the arc's target.
+     */
+    public int targetAt(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Gets the weight of an arc.
+     *
+     * @param arc The arc position.
+     * @return The weight of the arc.
+     */
+    public int weightAt(int arc) {
+        return weights[arc];
+    }
+
+    /**
+     * Checks whether any arc has a negative weight.
+     *
+     * @return True if at least one arc weight is negative.
+     */
+    public boolean hasNegativeEdge() {
+        for (int weight : weights) {
+            if (weight < 0) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.utils;
+
+import com.example.demo.mechanics.pathfinding.AnimationStepCodec;
+import com.example.demo.mechanics.pathfinding.PathfindingStep;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+
+/**
+ * <h1>AnimationStepMessageConverter</h1>
+ * <p>
+ * Writes lists of pathfinding animation steps as {@code application/octet-stream}, using
+ * {@link AnimationStepCodec}.
+ * </p>
+ * <p>
+ * The animation endpoints keep returning plain step lists. Clients that send
+ * {@code Accept: application/octet-stream} get the compact binary form from this converter;
+ * everyone else keeps getting JSON, since the converter is registered after the JSON one.
+ * </p>
+ */
+public class AnimationStepMessageConverter extends AbstractGenericHttpMessageConverter<List<? extends PathfindingStep>> {
+
+    /**
+     * <h1>AnimationStepMessageConverter Constructor</h1>
+     * <p>
+     * Constructs a converter for {@code application/octet-stream}.
+     * </p>
+     */
+    public AnimationStepMessageConverter() {
+        super(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // The element type is only known from the generic type, see canWrite(Type, Class, MediaType).
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // Offered for every list, so content negotiation sees the media type; canWrite then checks the elements.
+        return List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isStepList(type) && canWrite(mediaType);
+    }
+
+    /**
+     * Checks whether a type is a list of pathfinding steps, e.g. {@code List<Dijkstra.AnimationStep>}.
+     */
+    private static boolean isStepList(Type type) {
+        if (!(type instanceof ParameterizedType parameterized)
+                || !(parameterized.getRawType() instanceof Class<?> raw)
+                || !List.class.isAssignableFrom(raw)) {
+            return false;
+        }
+        Type element = parameterized.getActualTypeArguments()[0];
+        if (element instanceof WildcardType wildcard) {
+            element = wildcard.getUpperBounds()[0];
+        }
+        return element instanceof Class<?> elementClass && PathfindingStep.class.isAssignableFrom(elementClass);
+    }
+
+    @Override
+    protected void writeInternal(List<? extends PathfindingStep> steps, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        byte[] encoded = AnimationStepCodec.encode(steps);
+        outputMessage.getHeaders().setContentLength(encoded.length);
+        outputMessage.getBody().write(encoded);
+    }
+
+    @Override
+    public List<? extends PathfindingStep> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Animation steps are write-only", inputMessage);
+    }
+
+    @Override
+    protected List<? extends PathfindingStep> readInternal(Class<? extends List<? extends PathfindingStep>> clazz,
+                                                           HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Animation steps are write-only", inputMessage);
+    }
+}
@@ -1,9 +1,21 @@
 package com.example.demo.utils;
 
-import com.example.demo.mechanics.generation.GameMap;
 import com.example.demo.mechanics.generation.GameMapGenerator;
+import com.example.demo.mechanics.generation.PlacementMode;
+import com.example.demo.mechanics.generation.WorldPool;
+import com.example.demo.mechanics.generation.WorldRegistry;
+import com.example.demo.mechanics.generation.WorldSeed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.time.Duration;
+import java.util.List;
 
 /**
  * <h1>GameConfig</h1>
@@ -16,23 +28,109 @@ import org.springframework.context.annotation.Configuration;
  * </p>
  */
 @Configuration
-public class GameConfig {
+public class GameConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ResourceUrlProvider> resourceUrls;
+
+    /**
+     * <h1>GameConfig Constructor</h1>
+     * <p>
+     * Constructs the game configuration.
+     * </p>
+     *
+     * @param resourceUrls The static resource URL resolver configured by Spring MVC, looked up when first needed.
+     */
+    public GameConfig(ObjectProvider<ResourceUrlProvider> resourceUrls) {
+        this.resourceUrls = resourceUrls;
+    }
+
+    /**
+     * <h1>worldPool Method</h1>
+     * <p>
+     * Creates the pool of pre-generated worlds that new and cleared sessions take their world from.
+     * </p>
+     * <p>
+     * A few worlds are generated ahead of time on background threads, so a player never waits
+     * for generation inside a request; each world taken is replaced in the background. If a
+     * burst of new players empties the pool, they are shown a "generating" page until a world is ready.
+     * </p>
+     *
+     * @param poolSize      The number of worlds kept ready, from {@code game.worlds.pool-size}.
+     * @param poolThreads   The number of background generator threads, from {@code game.worlds.pool-threads}.
+     * @param placementMode How mountains and villages are placed, from {@code game.generation.placement-mode}.
+     * @param seed          The seed every world is generated from, from {@code game.generation.seed}; if unset,
+     *                      each world gets a random seed.
+     * @param lazyInteriors Whether village interiors are generated on first access, from
+     *                      {@code game.generation.lazy-interiors}.
+     * @return The world pool.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public WorldPool worldPool(@Value("${game.worlds.pool-size:4}") int poolSize,
+                               @Value("${game.worlds.pool-threads:1}") int poolThreads,
+                               @Value("${game.generation.placement-mode:RANDOM}") PlacementMode placementMode,
+                               @Value("${game.generation.seed:#{null}}") Long seed,
+                               @Value("${game.generation.lazy-interiors:true}") boolean lazyInteriors) {
+        if (seed != null) {
+            System.out.println("🌱 Every world is generated from the fixed seed " + seed);
+        }
+        return new WorldPool(poolSize, poolThreads, () -> GameMapGenerator.generateMap(
+                seed != null ? seed : WorldSeed.random().getSeed(), placementMode, lazyInteriors));
+    }
 
     /**
-     * <h1>gameMap Method</h1>
+     * <h1>worldRegistry Method</h1>
      * <p>
-     * Creates and configures the game map.
+     * Creates and configures the registry of per-session game worlds.
      * </p>
      * <p>
-     * This method creates a new GameMap object by calling the generateMap method of the
-     * GameMapGenerator class. The GameMap object is then made available as a bean in the
-     * Spring application context.
+     * Every player session gets its own GameMap from this registry instead of sharing one
+     * global map. The registry is also registered as a session listener, so a world is dropped
+     * together with its session. New worlds are taken from the world pool.
      * </p>
      *
-     * @return The generated game map.
+     * @param maxWorlds           The maximum number of worlds kept at once, from {@code game.worlds.max-worlds}.
+     * @param idleTimeout         How long an untouched world is kept, from {@code game.worlds.idle-timeout}.
+     * @param interiorIdleTimeout How long an untouched world keeps its built village interiors, from
+     *                            {@code game.worlds.interior-idle-timeout}.
+     * @param worldPool           The pool of pre-generated worlds.
+     * @return The world registry.
      */
     @Bean
-    public GameMap gameMap() {
-        return GameMapGenerator.generateMap(); // ✅ Corrected
+    public WorldRegistry worldRegistry(@Value("${game.worlds.max-worlds:200}") int maxWorlds,
+                                       @Value("${game.worlds.idle-timeout:30m}") Duration idleTimeout,
+                                       @Value("${game.worlds.interior-idle-timeout:5m}") Duration interiorIdleTimeout,
+                                       WorldPool worldPool) {
+        return new WorldRegistry(maxWorlds, idleTimeout, interiorIdleTimeout, worldPool::poll);
+    }
+
+    /**
+     * <h1>extendMessageConverters Method</h1>
+     * <p>
+     * Adds the binary encoding of pathfinding animation steps.
+     * </p>
+     * <p>
+     * The converter goes after the default ones, so JSON stays the answer for clients that accept any type,
+     * and the binary form is only sent to clients that ask for {@code application/octet-stream}.
+     * </p>
+     *
+     * @param converters The message converters configured so far.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new AnimationStepMessageConverter());
+    }
+
+    /**
+     * <h1>addInterceptors Method</h1>
+     * <p>
+     * Adds the {@code Cache-Control} policy of static files: a year for content-hashed URLs,
+     * revalidation for everything else.
+     * </p>
+     *
+     * @param registry The interceptor registry.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StaticResourceCacheInterceptor(resourceUrls));
     }
 }
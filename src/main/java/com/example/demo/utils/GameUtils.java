@@ -6,7 +6,9 @@ package com.example.demo.utils;
 import com.example.demo.classes.Mountain;
 import com.example.demo.classes.villageClasses.Village;
 
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * <h1>GameUtils</h1>
@@ -31,13 +33,28 @@ public class GameUtils {
      * @return The distance between the two villages.
      */
     public static int calculateDistance(Village village1, Village village2) {
+        return calculateDistance(village1, village2, ThreadLocalRandom.current());
+    }
+
+    /**
+     * <h1>calculateDistance Method</h1>
+     * <p>
+     * Calculates the Euclidean distance between two villages, plus a random detour of 0 to 49
+     * drawn from the given random number generator.
+     * </p>
+     *
+     * @param village1 The first village.
+     * @param village2 The second village.
+     * @param rand     The random number generator.
+     * @return The distance between the two villages.
+     */
+    public static int calculateDistance(Village village1, Village village2, RandomGenerator rand) {
         // Calculate the difference in x-coordinates between the two villages.
         int deltaX = village1.getXCoordinate() - village2.getXCoordinate();
         // Calculate the difference in y-coordinates between the two villages.
         int deltaY = village1.getYCoordinate() - village2.getYCoordinate();
         // Calculate the Euclidean distance using the Pythagorean theorem.
         int distance = (int) Math.sqrt(deltaX * deltaX + deltaY * deltaY);
-        Random rand = new Random();
         int randomFactor = rand.nextInt(50); // Add a random number between 0 and 49
         return distance + randomFactor;
     }
@@ -144,4 +161,23 @@ public class GameUtils {
         // Calculate the Euclidean distance using the Pythagorean theorem.
         return (int) Math.sqrt((point2X - point1X) * (point2X - point1X) + (point2Y - point1Y) * (point2Y - point1Y));
     }
+
+    /**
+     * <h1>shuffle Method</h1>
+     * <p>
+     * Shuffles a list in place with the Fisher-Yates algorithm, using the given random number generator.
+     * </p>
+     *
+     * @param list The list to shuffle.
+     * @param rand The random number generator.
+     * @param <T>  The type of the list elements.
+     */
+    public static <T> void shuffle(List<T> list, RandomGenerator rand) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            T swap = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, swap);
+        }
+    }
 }
@@ -9,7 +9,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,11 +56,6 @@ public class SpriteLoader {
     public static final List<String> ARMOR_STRUCTURE_SPRITES;
     public static final List<String> COMPOSITE_STRUCTURE_SPRITES;
 
-    /**
-     * Random number generator for sprite selection.
-     */
-    private static final Random rand = new Random();
-
     /**
      * Static block: Load all sprites once at application startup.
      * This ensures that all sprites are loaded and available when the game starts.
@@ -144,9 +140,10 @@ public class SpriteLoader {
                 }
             }
             /**
-             * Shuffle the list of filenames to randomize sprite selection.
+             * Sort the list of filenames, so a seeded world picks the same sprites on every machine
+             * whatever order the classpath lists them in.
              */
-            Collections.shuffle(filenames);
+            Collections.sort(filenames);
         } catch (IOException e) {
             /**
              * Log an error if there is an issue loading sprites from the path.
@@ -170,6 +167,19 @@ public class SpriteLoader {
      * @return full path to a random village sprite.
      */
     public static String getRandomVillageSprite() {
+        return getRandomVillageSprite(ThreadLocalRandom.current());
+    }
+
+    /**
+     * <h1>getRandomVillageSprite Method</h1>
+     * <p>
+     * Picks a random village sprite using the given random number generator.
+     * </p>
+     *
+     * @param rand The random number generator.
+     * @return full path to a random village sprite.
+     */
+    public static String getRandomVillageSprite(RandomGenerator rand) {
         /**
          * Check if the list of village sprites is empty.
          */
@@ -198,6 +208,19 @@ public class SpriteLoader {
      * @return full path to a random mountain sprite.
      */
     public static String getRandomMountainSprite() {
+        return getRandomMountainSprite(ThreadLocalRandom.current());
+    }
+
+    /**
+     * <h1>getRandomMountainSprite Method</h1>
+     * <p>
+     * Picks a random mountain sprite using the given random number generator.
+     * </p>
+     *
+     * @param rand The random number generator.
+     * @return full path to a random mountain sprite.
+     */
+    public static String getRandomMountainSprite(RandomGenerator rand) {
         /**
          * Check if the list of mountain sprites is empty.
          */
@@ -226,6 +249,19 @@ public class SpriteLoader {
      * @return full path to a random enemy sprite.
      */
     public static String getRandomEnemySprite() {
+        return getRandomEnemySprite(ThreadLocalRandom.current());
+    }
+
+    /**
+     * <h1>getRandomEnemySprite Method</h1>
+     * <p>
+     * Picks a random enemy sprite using the given random number generator.
+     * </p>
+     *
+     * @param rand The random number generator.
+     * @return full path to a random enemy sprite.
+     */
+    public static String getRandomEnemySprite(RandomGenerator rand) {
         /**
          * Check if the list of enemy sprites is empty.
          */
@@ -255,6 +291,20 @@ public class SpriteLoader {
      * @return full path to a random structure sprite.
      */
     public static String getRandomStructureSprite(VillageType villageType) {
+        return getRandomStructureSprite(villageType, ThreadLocalRandom.current());
+    }
+
+    /**
+     * <h1>getRandomStructureSprite Method</h1>
+     * <p>
+     * Picks a random structure sprite based on the village type, using the given random number generator.
+     * </p>
+     *
+     * @param villageType the type of the village
+     * @param rand        The random number generator.
+     * @return full path to a random structure sprite.
+     */
+    public static String getRandomStructureSprite(VillageType villageType, RandomGenerator rand) {
         /**
          * Declare a list to store the sprite filenames.
          */
@@ -0,0 +1,76 @@
+package com.example.demo.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>StaticResourceCacheInterceptor</h1>
+ * <p>
+ * Sets the {@code Cache-Control} header of static files according to the URL they were asked for.
+ * </p>
+ * <p>
+ * URLs built with {@code @{...}} carry a hash of the file's content, e.g.
+ * {@code /css/style-0123456789abcdef0123456789abcdef.css}, so the file behind them can never
+ * change: they are cached for a year and never revalidated. Every other static URL, including a
+ * hashed one whose hash is not the file's current hash, is served {@code no-cache}, so browsers
+ * revalidate it with its {@code ETag} or {@code Last-Modified} date instead of keeping a stale copy.
+ * </p>
+ */
+public class StaticResourceCacheInterceptor implements HandlerInterceptor {
+
+    /**
+     * The content hash the resource chain inserts before the file extension.
+     */
+    private static final Pattern CONTENT_HASH = Pattern.compile("-[0-9a-f]{32}(?=\\.[^./]*$)");
+
+    private static final String VERSIONED = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+    private static final String UNVERSIONED = CacheControl.noCache().getHeaderValue();
+
+    private final ObjectProvider<ResourceUrlProvider> resourceUrls;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * <h1>StaticResourceCacheInterceptor Constructor</h1>
+     * <p>
+     * Constructs an interceptor that checks hashed URLs against the given resolver.
+     * </p>
+     *
+     * @param resourceUrls The static resource URL resolver, looked up on first use since it is
+     *                     built from the same MVC configuration this interceptor is part of.
+     */
+    public StaticResourceCacheInterceptor(ObjectProvider<ResourceUrlProvider> resourceUrls) {
+        this.resourceUrls = resourceUrls;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof ResourceHttpRequestHandler) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, isCurrentVersion(request) ? VERSIONED : UNVERSIONED);
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the request path carries a content hash and that it is the hash the file has now.
+     */
+    private boolean isCurrentVersion(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        Matcher hash = CONTENT_HASH.matcher(path);
+        if (!hash.find()) {
+            return false;
+        }
+        String current = resourceUrls.getObject().getForLookupPath(hash.replaceFirst(""));
+        return path.equals(current);
+    }
+}
@@ -82,7 +82,8 @@ window.addEventListener('load', () => {
             const btnTop = top + img.offsetHeight + 10;
 
             const src = img.getAttribute("src");
-            const fileName = src.split("/").pop().replace(".png", "");
+            // Static URLs carry a content hash ("name-<md5>.png"); the name is the part before it
+            const fileName = src.split("/").pop().replace(".png", "").replace(/-[0-9a-f]{32}$/, "");
             const formatted = fileName.replace(/[-_]/g, " ").replace(/\b\w/g, c => c.toUpperCase());
 
             const population = img.dataset.population;
@@ -0,0 +1,81 @@
+package com.example.demo.classes.villageClasses;
+
+import com.example.demo.mechanics.generation.GameMapGenerator;
+import com.example.demo.mechanics.generation.PlacementMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the incoming-road index of {@link StructureNode}.
+ */
+class StructureNodeTests {
+
+    /**
+     * The connections can only change through the node, which keeps the index and the version in step.
+     */
+    @Test
+    void connectionsAreReadOnly() {
+        StructureNode a = new StructureNode(0, 0, 0, "house.png");
+        StructureNode b = new StructureNode(1, 0, 0, "house.png");
+        StructureRoad road = a.connectTo(b, 3);
+
+        assertThrows(UnsupportedOperationException.class, () -> a.getConnections().add(new StructureRoad(a, b, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> a.getConnections().clear());
+        assertEquals(List.of(road), b.getIncomingConnections());
+
+        // setConnections copies the list, so editing it afterwards changes nothing.
+        List<StructureRoad> replacement = new ArrayList<>(List.of(new StructureRoad(a, a, 1)));
+        a.setConnections(replacement);
+        replacement.add(new StructureRoad(a, b, 2));
+        assertEquals(1, a.getConnections().size());
+        assertTrue(b.getIncomingConnections().isEmpty());
+        assertEquals(1, a.getIncomingConnections().size());
+
+        a.clearConnections();
+        assertTrue(a.getIncomingConnections().isEmpty());
+    }
+
+    /**
+     * Villages from both generators list every road in their structure roads, and the incoming
+     * roads of each node are exactly the roads of that list that lead to it.
+     */
+    @Test
+    void incomingMatchesReverseScanOfGeneratedVillages() {
+        for (int seed = 0; seed < 20; seed++) {
+            Village village = new Village("Village0", 0, 5, 0, 0, "village.png", VillageType.values()[seed % VillageType.values().length]);
+            VillageGenerator.generateStructuresForVillage(village, new Random(seed));
+            assertIndexMatchesRoads(village);
+        }
+        for (Village village : GameMapGenerator.generateMap(23, PlacementMode.RANDOM, false).getVillages()) {
+            assertIndexMatchesRoads(village);
+        }
+    }
+
+    private static void assertIndexMatchesRoads(Village village) {
+        Map<StructureNode, Set<StructureRoad>> leadingTo = new IdentityHashMap<>();
+        for (StructureRoad road : village.getStructureRoads()) {
+            leadingTo.computeIfAbsent(road.getToStructure(), node -> Collections.newSetFromMap(new IdentityHashMap<>())).add(road);
+        }
+
+        int connections = 0;
+        for (StructureNode node : village.getStructuresList()) {
+            Set<StructureRoad> incoming = Collections.newSetFromMap(new IdentityHashMap<>());
+            incoming.addAll(node.getIncomingConnections());
+            assertEquals(node.getIncomingConnections().size(), incoming.size(), village.getName());
+            assertEquals(leadingTo.getOrDefault(node, Set.of()), incoming, village.getName());
+            connections += node.getConnections().size();
+        }
+        assertEquals(village.getStructureRoads().size(), connections, village.getName());
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.classes.villageClasses;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the lazy interior of a {@link Village}.
+ */
+class VillageTests {
+
+    /**
+     * Concurrent first accesses run the generator once, and every reader sees the finished interior.
+     */
+    @Test
+    void interiorIsGeneratedOnceAndPublishedWhole() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        Village village = village();
+        village.setInteriorGenerator(7, (v, rand) -> {
+            runs.incrementAndGet();
+            fill(v, rand);
+        });
+        assertFalse(village.isInteriorGenerated());
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<int[]>> reads = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                reads.add(pool.submit(() -> new int[]{
+                        village.getStructuresList().size(), village.getStructureGraph().size(), village.getStructureRoads().size()}));
+            }
+            for (Future<int[]> read : reads) {
+                int[] sizes = read.get();
+                assertEquals(5, sizes[0]);
+                assertEquals(5, sizes[1]);
+                assertEquals(4, sizes[2]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, runs.get());
+        assertTrue(village.isInteriorGenerated());
+    }
+
+    /**
+     * An evicted interior comes back the same from its seed, with a newer version stamp.
+     */
+    @Test
+    void evictedInteriorIsRebuiltIdentically() {
+        Village village = village();
+        village.setInteriorGenerator(7, VillageTests::fill);
+        List<StructureNode> before = village.getStructuresList();
+        long version = village.getStructureVersion();
+
+        assertTrue(village.evictInterior());
+        assertFalse(village.isInteriorGenerated());
+        assertFalse(village.evictInterior());
+
+        List<StructureNode> after = village.getStructuresList();
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getX(), after.get(i).getX());
+            assertEquals(before.get(i).getY(), after.get(i).getY());
+        }
+        assertTrue(village.getStructureVersion() > version);
+    }
+
+    /**
+     * A generator may read back what it has set so far.
+     */
+    @Test
+    void generatorSeesItsOwnPartialInterior() {
+        Village village = village();
+        List<StructureNode> nodes = List.of(new StructureNode(0, 0, 0, "house.png"));
+        village.setInteriorGenerator(1, (v, rand) -> {
+            v.setStructuresList(nodes);
+            assertSame(nodes, v.getStructuresList());
+        });
+        assertSame(nodes, village.getStructuresList());
+    }
+
+    /**
+     * Every change to a node's connections raises the village version, and nodes that were
+     * replaced out of the village no longer do.
+     */
+    @Test
+    void nodeChangesRaiseTheVersion() {
+        Village village = village();
+        StructureNode a = new StructureNode(0, 0, 0, "house.png");
+        StructureNode b = new StructureNode(1, 10, 0, "house.png");
+        village.setStructuresList(new ArrayList<>(List.of(a, b)));
+        village.setStructureGraph(new ArrayList<>(List.of(a, b)));
+
+        long version = village.getStructureVersion();
+        assertEquals(version, village.getStructureVersion());
+        village.setStructureRoads(List.of(a.connectTo(b, 3)));
+        assertTrue(village.getStructureVersion() > version);
+
+        version = village.getStructureVersion();
+        b.setConnections(List.of(new StructureRoad(b, a, 2)));
+        assertTrue(village.getStructureVersion() > version);
+        version = village.getStructureVersion();
+        a.clearConnections();
+        assertTrue(village.getStructureVersion() > version);
+
+        // Once a is gone from both lists, its changes leave the village alone.
+        village.setStructuresList(new ArrayList<>(List.of(b)));
+        village.setStructureGraph(new ArrayList<>(List.of(b)));
+        version = village.getStructureVersion();
+        a.connectTo(b, 1);
+        assertEquals(version, village.getStructureVersion());
+        b.connectTo(b, 1);
+        assertTrue(village.getStructureVersion() > version);
+    }
+
+    private static Village village() {
+        return new Village("Village0", 0, 5, 0, 0, "village.png", VillageType.COMMON);
+    }
+
+    /**
+     * A chain of five structures at random positions.
+     */
+    private static void fill(Village village, RandomGenerator rand) {
+        List<StructureNode> nodes = new ArrayList<>();
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            nodes.add(new StructureNode(i, rand.nextInt(300), rand.nextInt(300), "house.png"));
+            if (i > 0) {
+                roads.add(new StructureRoad(nodes.get(i - 1), nodes.get(i), 1 + rand.nextInt(9)));
+            }
+        }
+        village.setStructuresList(nodes);
+        village.setStructureRoads(roads);
+        village.setStructureGraph(new ArrayList<>(nodes));
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.demo.controllers;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.classes.villageClasses.VillageType;
+import com.example.demo.mechanics.generation.GameMap;
+import com.example.demo.mechanics.generation.GameMapGenerator;
+import com.example.demo.mechanics.generation.PlacementMode;
+import com.example.demo.mechanics.generation.WorldRegistry;
+import com.example.demo.mechanics.layout.ConnectivityOverlay;
+import com.example.demo.mechanics.layout.ForceLayout;
+import com.example.demo.mechanics.pathfinding.DijkstraEngine;
+import com.example.demo.mechanics.pathfinding.StructureGraphSnapshot;
+import com.example.demo.utils.SpriteLoader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the village page rendered by {@link VillageController}.
+ */
+class VillageControllerTests {
+
+    private final WorldRegistry worlds = new WorldRegistry(10, Duration.ofHours(1), Duration.ofHours(1), GameMap::new);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(
+            new VillageController(worlds, DijkstraEngine.BINARY_HEAP, new ObjectMapper(), new ResourceUrlProvider())).build();
+    private final MockHttpSession session = new MockHttpSession();
+
+    /**
+     * Rendering a village in several parts again and again draws the overlay links every time,
+     * but never adds them to the structures' connections.
+     */
+    @Test
+    void repeatedRendersLeaveTheConnectionsAlone() throws Exception {
+        Village village = village();
+        List<StructureNode> nodes = village.getStructuresList();
+        long version = village.getStructureVersion();
+
+        for (int i = 0; i < 3; i++) {
+            // Drop the cached page, so every request renders it again.
+            village.getPathCache().clear();
+            String graphData = render();
+            assertEquals(2, count(graphData, "-link-"));
+        }
+        assertEquals(1, nodes.get(0).getConnections().size());
+        assertEquals(1, nodes.get(2).getConnections().size());
+        assertEquals(0, nodes.get(4).getConnections().size());
+        assertEquals(0, nodes.get(4).getIncomingConnections().size());
+        assertEquals(2, village.getStructureRoads().size());
+        assertEquals(version, village.getStructureVersion());
+    }
+
+    /**
+     * A browser holding the current page gets 304 Not Modified, and the full page again once a
+     * structure or a shown field of the village changes.
+     */
+    @Test
+    void answersNotModifiedUntilTheVillageChanges() throws Exception {
+        Village village = village();
+        String etag = mvc.perform(get("/village/0").session(session)).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mvc.perform(get("/village/0").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        List<StructureNode> nodes = village.getStructuresList();
+        nodes.get(1).connectTo(nodes.get(2), 5);
+        String afterRoad = mvc.perform(get("/village/0").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, afterRoad);
+        mvc.perform(get("/village/0").session(session).header(HttpHeaders.IF_NONE_MATCH, afterRoad))
+                .andExpect(status().isNotModified());
+
+        village.setName("Village0 Renamed");
+        mvc.perform(get("/village/0").session(session).header(HttpHeaders.IF_NONE_MATCH, afterRoad))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * The streamed graph data has the shape the page was built for, which the controller used to
+     * assemble from nested maps: every structure and then the fountain as
+     * {@code {"data": {"id", "houseSprite"}, "position": {"x", "y"}}}, and every road and overlay
+     * link as {@code {"data": {"id", "source", "target", "weight"}}}.
+     */
+    @Test
+    void graphDataMatchesTheMapShape() throws Exception {
+        assertMapShape(village());
+
+        // Generated villages, with their own sprites and road weights.
+        GameMap generated = GameMapGenerator.generateMap(19, PlacementMode.RANDOM, false);
+        worlds.worldFor(session).replaceWith(generated);
+        for (Village village : generated.getVillages().subList(0, 5)) {
+            assertMapShape(village);
+        }
+    }
+
+    private void assertMapShape(Village village) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode actual = mapper.readTree(render(village.getId()));
+        JsonNode expected = mapper.valueToTree(mapShape(village));
+        assertEquals(Set.of("nodes", "edges"), fieldNames(actual), village.getName());
+        assertEquals(expected.get("nodes"), actual.get("nodes"), village.getName());
+        // The page does not depend on the order of the edges.
+        assertEquals(sortedById(expected.get("edges")), sortedById(actual.get("edges")), village.getName());
+    }
+
+    /**
+     * Builds the expected graph data from maps and lists, reading the roads from the village's
+     * road list rather than the incoming index the controller uses.
+     */
+    private static Map<String, Object> mapShape(Village village) {
+        StructureGraphSnapshot graph = village.getGraphSnapshot();
+        ForceLayout.Result layout = village.getLayout();
+        List<Object> nodes = new ArrayList<>();
+        for (StructureNode node : village.getStructuresList()) {
+            int index = graph.indexOf(node.getId());
+            nodes.add(element(Map.of("id", node.getId(), "houseSprite", node.getSprite()),
+                    layout.getX(index), layout.getY(index)));
+        }
+        nodes.add(element(Map.of("id", "fountain", "houseSprite", SpriteLoader.getFountainSprite(village.getType())),
+                layout.getWidth() / 2, -VillageController.FOUNTAIN_OFFSET));
+
+        List<Object> edges = new ArrayList<>();
+        for (StructureRoad road : village.getStructureRoads()) {
+            int from = road.getFromStructure().getId();
+            int to = road.getToStructure().getId();
+            edges.add(Map.of("data", Map.of("id", from + "-" + to, "source", from, "target", to, "weight", road.getWeight())));
+        }
+        ConnectivityOverlay overlay = village.getConnectivityOverlay();
+        for (int link = 0; link < overlay.linkCount(); link++) {
+            int from = graph.idAt(overlay.fromAt(link));
+            int to = graph.idAt(overlay.toAt(link));
+            edges.add(Map.of("data", Map.of("id", from + "-link-" + to, "source", from, "target", to, "weight", 0)));
+        }
+
+        Map<String, Object> graphData = new HashMap<>();
+        graphData.put("nodes", nodes);
+        graphData.put("edges", edges);
+        return graphData;
+    }
+
+    private static Map<String, Object> element(Map<String, Object> data, double x, double y) {
+        return Map.of("data", data, "position", Map.of("x", x, "y", y));
+    }
+
+    private static List<JsonNode> sortedById(JsonNode edges) {
+        List<JsonNode> sorted = new ArrayList<>();
+        edges.forEach(sorted::add);
+        sorted.sort(Comparator.comparing(edge -> edge.get("data").get("id").asText()));
+        return sorted;
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    /**
+     * A village of five structures in three parts: two roads and a lone structure.
+     */
+    private Village village() {
+        Village village = new Village("Village0", 0, 5, 0, 0, "village.png", VillageType.COMMON);
+        List<StructureNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            nodes.add(new StructureNode(i, i * 40, (i % 2) * 30, "house.png"));
+        }
+        List<StructureRoad> roads = List.of(nodes.get(0).connectTo(nodes.get(1), 4), nodes.get(2).connectTo(nodes.get(3), 6));
+        village.setStructuresList(nodes);
+        village.setStructureGraph(new ArrayList<>(nodes));
+        village.setStructureRoads(roads);
+        worlds.worldFor(session).addVillage(village);
+        return village;
+    }
+
+    private String render() throws Exception {
+        return render(0);
+    }
+
+    private String render(int villageId) throws Exception {
+        MvcResult result = mvc.perform(get("/village/" + villageId).session(session)).andExpect(status().isOk()).andReturn();
+        return (String) result.getModelAndView().getModel().get("graphData");
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int at = text.indexOf(part); at >= 0; at = text.indexOf(part, at + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
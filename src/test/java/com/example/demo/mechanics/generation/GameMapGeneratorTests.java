@@ -0,0 +1,151 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.classes.Road;
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.classes.villageClasses.VillageType;
+import com.example.demo.mechanics.pathfinding.MSTBuilder;
+import com.example.demo.utils.GameUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the road network {@link GameMapGenerator} builds from the Delaunay candidates, and
+ * that its village interiors depend only on the seed.
+ */
+class GameMapGeneratorTests {
+
+    /**
+     * Without mountains, the Delaunay candidates give a tree as short as the all-pairs Euclidean
+     * MST, on random points and on the 50-unit lattice villages are placed on.
+     */
+    @Test
+    void delaunayRoadsMatchAllPairsMst() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 300; trial++) {
+            int spacing = trial % 2 == 0 ? 1 : 50;
+            List<Village> villages = villages(2 + random.nextInt(60), spacing, random);
+
+            List<Road> roads = GameMapGenerator.buildRoadNetwork(List.of(), villages, new WorldSeed(trial));
+            List<Road> allPairs = MSTBuilder.buildMST(villages, allPairRoads(villages));
+
+            assertEquals(villages.size() - 1, roads.size(), "trial " + trial);
+            assertEquals(totalLength(allPairs), totalLength(roads), "trial " + trial);
+        }
+    }
+
+    /**
+     * A seed gives the same village interiors whether they are built eagerly in parallel, eagerly
+     * one after the other, or lazily on first access.
+     */
+    @Test
+    void interiorsDoNotDependOnTheBuildMode() {
+        for (long seed : new long[]{1, 15, 2024}) {
+            WorldSeed worldSeed = new WorldSeed(seed);
+            List<Village> parallel = GameMapGenerator.generateMap(seed, PlacementMode.RANDOM, true).getVillages();
+            List<Village> serial = GameMapGenerator.generateMap(seed, PlacementMode.RANDOM, true).getVillages();
+            List<Village> lazy = GameMapGenerator.generateMap(seed, PlacementMode.RANDOM, true).getVillages();
+            GameMapGenerator.generateVillageInteriors(parallel, worldSeed, false, true);
+            GameMapGenerator.generateVillageInteriors(serial, worldSeed, false, false);
+            assertTrue(parallel.stream().allMatch(Village::isInteriorGenerated));
+            assertTrue(lazy.stream().noneMatch(Village::isInteriorGenerated));
+
+            List<String> expected = interiors(serial);
+            assertEquals(expected, interiors(parallel), "seed " + seed);
+            // Lazy interiors are built here, in reverse order, on first access.
+            List<String> lazyInteriors = new ArrayList<>();
+            for (int i = lazy.size() - 1; i >= 0; i--) {
+                lazyInteriors.add(0, interior(lazy.get(i)));
+            }
+            assertEquals(expected, lazyInteriors, "seed " + seed);
+            assertEquals(expected, interiors(GameMapGenerator.generateMap(seed, PlacementMode.RANDOM, false).getVillages()), "seed " + seed);
+        }
+    }
+
+    /**
+     * Each road carries its straight-line length plus a detour of 0 to 49 that depends only on its
+     * two villages.
+     */
+    @Test
+    void roadsCarryTheirDetour() {
+        Random random = new Random(12);
+        List<Village> villages = villages(40, 50, random);
+        List<Road> roads = GameMapGenerator.buildRoadNetwork(List.of(), villages, new WorldSeed(7));
+        List<Road> again = GameMapGenerator.buildRoadNetwork(List.of(), villages, new WorldSeed(7));
+
+        for (int i = 0; i < roads.size(); i++) {
+            int detour = roads.get(i).getWeight() - length(roads.get(i));
+            assertTrue(detour >= 0 && detour < 50, "detour " + detour);
+            assertEquals(roads.get(i).getWeight(), again.get(i).getWeight());
+        }
+    }
+
+    private static List<String> interiors(List<Village> villages) {
+        List<String> interiors = new ArrayList<>();
+        for (Village village : villages) {
+            interiors.add(interior(village));
+        }
+        return interiors;
+    }
+
+    /**
+     * Describes the structures and structure roads of a village, in order.
+     */
+    private static String interior(Village village) {
+        StringBuilder description = new StringBuilder(village.getName());
+        for (StructureNode node : village.getStructuresList()) {
+            description.append(" n").append(node.getId()).append('@').append(node.getX()).append(',').append(node.getY())
+                    .append(':').append(node.getSprite());
+        }
+        for (StructureRoad road : village.getStructureRoads()) {
+            description.append(" r").append(road.getFromStructure().getId()).append('>').append(road.getToStructure().getId())
+                    .append('=').append(road.getWeight());
+        }
+        return description.append(" g").append(village.getStructureGraph().size()).toString();
+    }
+
+    private static List<Village> villages(int n, int spacing, Random random) {
+        Set<Long> used = new HashSet<>();
+        List<Village> villages = new ArrayList<>();
+        while (villages.size() < n) {
+            int x = random.nextInt(1000 / spacing) * spacing;
+            int y = random.nextInt(1000 / spacing) * spacing;
+            if (!used.add(((long) x << 32) | y)) continue;
+            villages.add(new Village("Village" + villages.size(), villages.size(), 2, x, y, "village.png", VillageType.COMMON));
+        }
+        return villages;
+    }
+
+    private static List<Road> allPairRoads(List<Village> villages) {
+        List<Road> roads = new ArrayList<>();
+        for (int i = 0; i < villages.size(); i++) {
+            for (int j = i + 1; j < villages.size(); j++) {
+                Road road = new Road(villages.get(i), villages.get(j), 0);
+                roads.add(new Road(villages.get(i), villages.get(j), length(road)));
+            }
+        }
+        return roads;
+    }
+
+    private static long totalLength(List<Road> roads) {
+        long total = 0;
+        for (Road road : roads) {
+            total += length(road);
+        }
+        return total;
+    }
+
+    private static int length(Road road) {
+        return GameUtils.calculateDistance(road.getFromVillage().getXCoordinate(), road.getFromVillage().getYCoordinate(),
+                road.getToVillage().getXCoordinate(), road.getToVillage().getYCoordinate());
+    }
+}
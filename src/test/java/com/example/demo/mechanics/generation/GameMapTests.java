@@ -0,0 +1,118 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.classes.Road;
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.classes.villageClasses.VillageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the {@link GameMap.WorldSnapshot} ID index and the atomic publication of worlds.
+ */
+class GameMapTests {
+
+    /**
+     * Small IDs go to the dense slots, negative and large ones to the sparse map, and a
+     * duplicated ID finds the village listed first.
+     */
+    @Test
+    void findsVillagesByAnyId() {
+        Village first = village(3);
+        Village duplicate = village(3);
+        Village negative = village(-7);
+        Village large = village(1_000_000);
+        Village zero = village(0);
+        GameMap.WorldSnapshot world = GameMap.WorldSnapshot.of(null, List.of(first, negative, duplicate, large, zero),
+                null, null, first, 1L);
+
+        assertSame(first, world.findVillageById(3));
+        assertSame(negative, world.findVillageById(-7));
+        assertSame(large, world.findVillageById(1_000_000));
+        assertSame(zero, world.findVillageById(0));
+        assertNull(world.findVillageById(1));
+        assertNull(world.findVillageById(-1));
+        assertNull(world.findVillageById(Integer.MAX_VALUE));
+
+        // Sparse IDs keep the first village too.
+        Village largeDuplicate = village(1_000_000);
+        GameMap.WorldSnapshot sparse = GameMap.WorldSnapshot.of(null, List.of(large, largeDuplicate), null, null, null, null);
+        assertSame(large, sparse.findVillageById(1_000_000));
+    }
+
+    /**
+     * A snapshot copies the lists it is built from and cannot be changed through its getters.
+     */
+    @Test
+    void snapshotsAreImmutable() {
+        List<Village> villages = new ArrayList<>(List.of(village(0)));
+        GameMap.WorldSnapshot world = GameMap.WorldSnapshot.of(null, villages, null, null, null, null);
+        villages.add(village(1));
+
+        assertEquals(1, world.getVillages().size());
+        assertNull(world.findVillageById(1));
+        assertThrows(UnsupportedOperationException.class, () -> world.getVillages().add(village(2)));
+        assertEquals(0, world.getMountains().size());
+    }
+
+    /**
+     * A reader that takes one snapshot while the world is being swapped always sees all the
+     * parts of a single world, never villages of one and roads of another.
+     */
+    @Test
+    void readersNeverSeeATornWorld() throws InterruptedException {
+        GameMap small = world(5);
+        GameMap large = world(50);
+        GameMap map = new GameMap(small.getSnapshot());
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get() && failure.get() == null) {
+                GameMap.WorldSnapshot world = map.getSnapshot();
+                int villages = world.getVillages().size();
+                if (world.getRoads().size() != villages - 1
+                        || world.getStartingVillage() != world.getVillages().get(0)
+                        || world.findVillageById(villages - 1) != world.getVillages().get(villages - 1)
+                        || world.getSeed() != villages) {
+                    failure.set("torn world with " + villages + " villages");
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            map.replaceWith(i % 2 == 0 ? large : small);
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+    }
+
+    /**
+     * Builds a world of villages in a row, each joined to the next, with the village count as its seed.
+     */
+    private static GameMap world(int villageCount) {
+        List<Village> villages = new ArrayList<>();
+        List<Road> roads = new ArrayList<>();
+        for (int i = 0; i < villageCount; i++) {
+            villages.add(village(i));
+            if (i > 0) {
+                roads.add(new Road(villages.get(i - 1), villages.get(i), 1));
+            }
+        }
+        return new GameMap(GameMap.WorldSnapshot.of(null, villages, roads, null, villages.get(0), (long) villageCount));
+    }
+
+    private static Village village(int id) {
+        return new Village("Village" + id, id, 1, id * 50, 0, "village.png", VillageType.COMMON);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.mechanics.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the spacing, the bounded work and the density of {@link PoissonDiskSampler}.
+ */
+class PoissonDiskSamplerTests {
+
+    /**
+     * No two samples are closer than the radius, none is closer than the clearance to an
+     * obstacle, and all of them lie inside the rectangle.
+     */
+    @Test
+    void keepsTheMinimumDistance() {
+        for (int seed = 0; seed < 20; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            SpatialGrid obstacles = new SpatialGrid(34);
+            List<int[]> mountains = PoissonDiskSampler.sample(0, 0, 800, 800, 120, null, 0, 15, random);
+            for (int[] mountain : mountains) {
+                obstacles.add(mountain[0], mountain[1]);
+            }
+
+            List<int[]> points = PoissonDiskSampler.sample(0, 0, 800, 800, 100, obstacles, 34, 1000, random);
+            assertFalse(points.isEmpty());
+            for (int i = 0; i < points.size(); i++) {
+                int[] p = points.get(i);
+                assertTrue(p[0] >= 0 && p[0] <= 800 && p[1] >= 0 && p[1] <= 800);
+                assertFalse(obstacles.anyWithin(p[0], p[1], 34), "seed " + seed + ": sample on an obstacle");
+                for (int j = i + 1; j < points.size(); j++) {
+                    assertTrue(squaredDistance(p, points.get(j)) >= 100 * 100, "seed " + seed + ": samples too close");
+                }
+            }
+        }
+    }
+
+    /**
+     * On a map that is full (or fully blocked), sampling stops on its own well inside its work
+     * bound, and maxPoints caps the result.
+     */
+    @Test
+    void stopsOnAFullMap() {
+        CountingRandom random = new CountingRandom(3);
+        List<int[]> points = PoissonDiskSampler.sample(0, 0, 150, 150, 50, null, 0, Integer.MAX_VALUE, random);
+        assertTrue(points.size() >= 4 && points.size() <= 16, "points: " + points.size());
+        // Each active point is picked at most twice (once to place a neighbour, once to retire),
+        // each pick draws at most 1 + 2 * CANDIDATES_PER_POINT values, and seeds draw 2 each.
+        long bound = 2L * points.size() * (1 + 2 * PoissonDiskSampler.CANDIDATES_PER_POINT)
+                + 2L * PoissonDiskSampler.SEED_ATTEMPTS;
+        assertTrue(random.draws <= 2 * bound, "draws: " + random.draws);
+
+        SpatialGrid everywhere = new SpatialGrid(20);
+        for (int x = 0; x <= 150; x += 10) {
+            for (int y = 0; y <= 150; y += 10) {
+                everywhere.add(x, y);
+            }
+        }
+        CountingRandom blocked = new CountingRandom(4);
+        assertTrue(PoissonDiskSampler.sample(0, 0, 150, 150, 50, everywhere, 20, 100, blocked).isEmpty());
+        assertTrue(blocked.draws <= 4L * PoissonDiskSampler.SEED_ATTEMPTS, "draws: " + blocked.draws);
+
+        assertEquals(3, PoissonDiskSampler.sample(0, 0, 800, 800, 50, null, 0, 3, new SplittableRandom(5)).size());
+    }
+
+    /**
+     * The narrow candidate ring ({@code RING_WIDTH}) instead of Bridson's {@code r..2r} annulus
+     * packs about 0.83 points per r², against roughly 0.7 for random sequential placement, and
+     * leaves almost no gap where another point would still fit, though the fill is not maximal.
+     */
+    @Test
+    void coversTheMapDensely() {
+        int size = 1000;
+        int radius = 50;
+        double hexagonalLimit = 2 / Math.sqrt(3); // points per r², densest packing
+        for (int seed = 0; seed < 10; seed++) {
+            List<int[]> points = PoissonDiskSampler.sample(0, 0, size, size, radius, null, 0, Integer.MAX_VALUE,
+                    new SplittableRandom(seed));
+            double density = points.size() * (double) radius * radius / ((size + 1.0) * (size + 1.0));
+            assertTrue(density > 0.75 && density < hexagonalLimit, "seed " + seed + ": density " + density);
+
+            SpatialGrid grid = new SpatialGrid(radius);
+            for (int[] point : points) {
+                grid.add(point[0], point[1]);
+            }
+            int probes = 0;
+            int gaps = 0;
+            for (int x = 0; x <= size; x += 5) {
+                for (int y = 0; y <= size; y += 5) {
+                    probes++;
+                    if (!grid.anyWithin(x, y, radius)) {
+                        gaps++;
+                    }
+                }
+            }
+            assertTrue(gaps < probes / 100, "seed " + seed + ": " + gaps + " of " + probes + " probes still fit a point");
+        }
+    }
+
+    private static long squaredDistance(int[] a, int[] b) {
+        long dx = a[0] - b[0];
+        long dy = a[1] - b[1];
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Counts the raw 64-bit values drawn, which every other draw is built from.
+     */
+    private static final class CountingRandom implements RandomGenerator {
+        private final SplittableRandom random;
+        private long draws;
+
+        CountingRandom(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public long nextLong() {
+            draws++;
+            return random.nextLong();
+        }
+    }
+}
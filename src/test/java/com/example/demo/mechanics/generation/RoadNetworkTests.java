@@ -0,0 +1,156 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.classes.Enemy;
+import com.example.demo.classes.Mountain;
+import com.example.demo.classes.Road;
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.classes.villageClasses.VillageType;
+import com.example.demo.mechanics.pathfinding.DisjointSet;
+import com.example.demo.mechanics.pathfinding.MSTBuilder;
+import com.example.demo.utils.GameUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link RoadNetwork} keeps the roads of a live map a minimum spanning tree.
+ */
+class RoadNetworkTests {
+
+    /**
+     * After every random insert and delete of villages and mountains, the incremental roads are as
+     * short as a full rebuild from all unblocked pairs, connect the same number of parts, and
+     * never cross a mountain.
+     */
+    @Test
+    void editsMatchAFullRebuild() {
+        Random random = new Random(18);
+        for (int trial = 0; trial < 40; trial++) {
+            List<Village> villages = new ArrayList<>();
+            List<Mountain> mountains = new ArrayList<>();
+            int nextId = 0;
+            for (int i = 0; i < 25; i++) {
+                villages.add(village(nextId++, random));
+            }
+            for (int i = 0; i < 6; i++) {
+                mountains.add(mountain(random));
+            }
+            GameMap map = new GameMap(GameMap.WorldSnapshot.of(mountains, villages, rebuild(villages, mountains),
+                    null, villages.get(0), (long) trial));
+
+            for (int edit = 0; edit < 60; edit++) {
+                GameMap.WorldSnapshot world = map.getSnapshot();
+                switch (random.nextInt(4)) {
+                    case 0 -> map.addVillage(village(nextId++, random));
+                    case 1 -> {
+                        if (world.getVillages().size() > 2) {
+                            assertTrue(map.removeVillage(world.getVillages().get(random.nextInt(world.getVillages().size()))));
+                        }
+                    }
+                    case 2 -> map.addMountain(mountain(random));
+                    default -> {
+                        if (!world.getMountains().isEmpty()) {
+                            assertTrue(map.removeMountain(world.getMountains().get(random.nextInt(world.getMountains().size()))));
+                        }
+                    }
+                }
+                assertMinimumSpanningForest(map.getSnapshot(), "trial " + trial + ", edit " + edit);
+            }
+        }
+    }
+
+    /**
+     * Removing the starting village picks another one, and enemies on a road that disappears go with it.
+     */
+    @Test
+    void removalsCleanUpStartAndEnemies() {
+        Village a = new Village("Village0", 0, 1, 0, 0, "village.png", VillageType.COMMON);
+        Village b = new Village("Village1", 1, 1, 200, 0, "village.png", VillageType.COMMON);
+        Village c = new Village("Village2", 2, 1, 100, 150, "village.png", VillageType.COMMON);
+        List<Road> roads = List.of(new Road(a, b, 200), new Road(a, c, 180));
+        Enemy onAB = new Enemy(100, 0, 1, "enemy.png");
+        Enemy onAC = new Enemy(50, 75, 1, "enemy.png");
+        GameMap map = new GameMap(GameMap.WorldSnapshot.of(null, List.of(a, b, c), roads, List.of(onAB, onAC), a, 1L));
+
+        assertTrue(map.removeVillage(a));
+        assertFalse(map.removeVillage(a));
+        assertEquals(List.of(b, c), map.getVillages());
+        assertNotNull(map.getStartingVillage());
+        assertEquals(1, map.getRoads().size());
+        assertTrue(map.getEnemies().isEmpty());
+
+        // The new road is built with its detour, like a generated one.
+        Road road = map.getRoads().get(0);
+        assertTrue(road.getWeight() >= length(road));
+    }
+
+    private static void assertMinimumSpanningForest(GameMap.WorldSnapshot world, String message) {
+        List<Village> villages = world.getVillages();
+        List<Road> expected = rebuild(villages, world.getMountains());
+
+        Map<Village, Integer> index = new IdentityHashMap<>();
+        for (int i = 0; i < villages.size(); i++) {
+            index.put(villages.get(i), i);
+        }
+        DisjointSet parts = new DisjointSet(villages.size());
+        for (Road road : world.getRoads()) {
+            Integer from = index.get(road.getFromVillage());
+            Integer to = index.get(road.getToVillage());
+            assertNotNull(from, message);
+            assertNotNull(to, message);
+            assertTrue(parts.union(from, to), message + ": cycle");
+            assertFalse(GameMapGenerator.doesRoadIntersectMountain(world.getMountains(), road.getFromVillage(), road.getToVillage()),
+                    message + ": road crosses a mountain");
+        }
+        assertEquals(expected.size(), world.getRoads().size(), message);
+        assertEquals(totalLength(expected), totalLength(world.getRoads()), message);
+    }
+
+    /**
+     * The minimum spanning forest of all village pairs that do not cross a mountain, by straight-line length.
+     */
+    private static List<Road> rebuild(List<Village> villages, List<Mountain> mountains) {
+        List<Road> pairs = new ArrayList<>();
+        for (int i = 0; i < villages.size(); i++) {
+            for (int j = i + 1; j < villages.size(); j++) {
+                Village v1 = villages.get(i);
+                Village v2 = villages.get(j);
+                if (!GameMapGenerator.doesRoadIntersectMountain(mountains, v1, v2)) {
+                    pairs.add(new Road(v1, v2, length(new Road(v1, v2, 0))));
+                }
+            }
+        }
+        return MSTBuilder.buildMST(villages, pairs);
+    }
+
+    private static Village village(int id, Random random) {
+        // On the 50-unit lattice villages are placed on, so many roads tie in length.
+        return new Village("Village" + id, id, 1, random.nextInt(17) * 50, random.nextInt(17) * 50, "village.png", VillageType.COMMON);
+    }
+
+    private static Mountain mountain(Random random) {
+        return new Mountain(random.nextInt(850), random.nextInt(850), "mountain.png");
+    }
+
+    private static long totalLength(List<Road> roads) {
+        long total = 0;
+        for (Road road : roads) {
+            total += length(road);
+        }
+        return total;
+    }
+
+    private static int length(Road road) {
+        return GameUtils.calculateDistance(road.getFromVillage().getXCoordinate(), road.getFromVillage().getYCoordinate(),
+                road.getToVillage().getXCoordinate(), road.getToVillage().getYCoordinate());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.utils.GameUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link SpatialGrid} neighbour queries against a scan of every point.
+ */
+class SpatialGridTests {
+
+    private static final int CELL_SIZE = 50;
+
+    /**
+     * Points and queries crowd the cell boundaries, negative cells included, with radii below,
+     * at and above the cell size; the grid always agrees with a scan over all points.
+     */
+    @Test
+    void matchesBruteForceAtCellBoundaries() {
+        Random random = new Random(9);
+        for (int trial = 0; trial < 200; trial++) {
+            SpatialGrid grid = new SpatialGrid(CELL_SIZE);
+            List<int[]> points = new ArrayList<>();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                int[] point = {nearBoundary(random), nearBoundary(random)};
+                points.add(point);
+                grid.add(point[0], point[1]);
+            }
+            assertEquals(points.size(), grid.size());
+
+            for (int query = 0; query < 200; query++) {
+                int x = nearBoundary(random);
+                int y = nearBoundary(random);
+                int radius = random.nextInt(3 * CELL_SIZE);
+                assertEquals(bruteForce(points, x, y, radius), grid.anyWithin(x, y, radius),
+                        "trial " + trial + ": (" + x + ", " + y + ") r=" + radius);
+            }
+        }
+    }
+
+    /**
+     * The radius is exclusive, matching {@code GameUtils.calculateDistance(...) < radius}.
+     */
+    @Test
+    void radiusIsExclusive() {
+        SpatialGrid grid = new SpatialGrid(CELL_SIZE);
+        assertFalse(grid.anyWithin(0, 0, 100));
+        grid.add(CELL_SIZE, 0);
+
+        assertFalse(grid.anyWithin(0, 0, CELL_SIZE));
+        assertTrue(grid.anyWithin(0, 0, CELL_SIZE + 1));
+        assertFalse(grid.anyWithin(CELL_SIZE, 0, 0));
+        // 30-40-50 across a cell corner: exactly 50 away.
+        grid.add(-30, -40);
+        assertFalse(grid.anyWithin(0, 0, 50));
+        assertTrue(grid.anyWithin(-1, 0, 50));
+
+        Random random = new Random(10);
+        for (int i = 0; i < 10_000; i++) {
+            int x = random.nextInt(400) - 200;
+            int y = random.nextInt(400) - 200;
+            int radius = 1 + random.nextInt(150);
+            boolean expected = GameUtils.calculateDistance(x, y, CELL_SIZE, 0) < radius
+                    || GameUtils.calculateDistance(x, y, -30, -40) < radius;
+            assertEquals(expected, grid.anyWithin(x, y, radius));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SpatialGrid(0));
+    }
+
+    /**
+     * A coordinate on or next to a cell boundary, on either side of zero.
+     */
+    private static int nearBoundary(Random random) {
+        return (random.nextInt(9) - 4) * CELL_SIZE + random.nextInt(5) - 2;
+    }
+
+    private static boolean bruteForce(List<int[]> points, int x, int y, int radius) {
+        for (int[] point : points) {
+            long dx = point[0] - x;
+            long dy = point[1] - y;
+            if (dx * dx + dy * dy < (long) radius * radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.classes.villageClasses.VillageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the refill, the capacity bound and the metrics of {@link WorldPool}.
+ */
+class WorldPoolTests {
+
+    /**
+     * Ready and generating worlds together never exceed the capacity, a miss returns no world
+     * without generating one, and each hit starts exactly one replacement.
+     */
+    @Test
+    void neverHoldsMoreThanCapacity() throws InterruptedException {
+        Semaphore gate = new Semaphore(0);
+        AtomicInteger calls = new AtomicInteger();
+        WorldPool pool = new WorldPool(3, 4, () -> {
+            calls.incrementAndGet();
+            gate.acquireUninterruptibly();
+            return world();
+        });
+        try {
+            awaitUntil(() -> calls.get() == 3 && generating(pool) == 3);
+            assertNull(pool.poll());
+            assertNull(pool.poll());
+            assertEquals(3, calls.get());
+            assertEquals(0, pool.depth());
+
+            gate.release(3);
+            awaitUntil(() -> pool.depth() == 3);
+            assertEquals(0, generating(pool));
+
+            assertNotNull(pool.poll());
+            awaitUntil(() -> calls.get() == 4);
+            Thread.sleep(50);
+            assertEquals(4, calls.get());
+            assertEquals(2, pool.depth());
+            assertEquals(1, generating(pool));
+        } finally {
+            gate.release(100);
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Worlds handed out are replaced in the background until the pool is full again.
+     */
+    @Test
+    void refillsToCapacity() throws InterruptedException {
+        WorldPool pool = new WorldPool(4, 2, WorldPoolTests::world);
+        try {
+            awaitUntil(() -> pool.depth() == 4);
+            for (int i = 0; i < 4; i++) {
+                assertNotNull(pool.poll());
+            }
+            awaitUntil(() -> pool.depth() == 4);
+            assertEquals(0, generating(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Hits, misses, refills and failed refills are counted, and a failed generation frees its slot.
+     */
+    @Test
+    void countsHitsMissesAndFailures() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        WorldPool pool = new WorldPool(1, 1, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("generator failed");
+            }
+            return world();
+        });
+        try {
+            awaitUntil(() -> ((Number) pool.getMetrics().get("refillFailures")).intValue() == 1 && generating(pool) == 0);
+            assertNull(pool.poll());
+            awaitUntil(() -> pool.depth() == 1);
+            assertNotNull(pool.poll());
+            awaitUntil(() -> pool.depth() == 1);
+
+            assertEquals(1L, ((Number) pool.getMetrics().get("hits")).longValue());
+            assertEquals(1L, ((Number) pool.getMetrics().get("misses")).longValue());
+            assertEquals(2L, ((Number) pool.getMetrics().get("refills")).longValue());
+            assertEquals(1L, ((Number) pool.getMetrics().get("refillFailures")).longValue());
+            assertEquals(1, pool.getMetrics().get("capacity"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int generating(WorldPool pool) {
+        return ((Number) pool.getMetrics().get("generating")).intValue();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(2);
+        }
+    }
+
+    private static GameMap world() {
+        Village village = new Village("Village0", 0, 1, 0, 0, "village.png", VillageType.COMMON);
+        return new GameMap(GameMap.WorldSnapshot.of(null, List.of(village), null, null, village, 1L));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.mechanics.generation;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.classes.villageClasses.VillageType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the idle cleanup of {@link WorldRegistry}.
+ */
+class WorldRegistryTests {
+
+    /**
+     * A world left alone past the interior timeout loses its built interiors, but not the world itself.
+     */
+    @Test
+    void idleWorldsLoseTheirInteriors() throws InterruptedException {
+        WorldRegistry registry = new WorldRegistry(10, Duration.ofHours(1), Duration.ofMillis(1), GameMap::new);
+        MockHttpSession idle = new MockHttpSession();
+        MockHttpSession active = new MockHttpSession();
+
+        Village village = new Village("Village0", 0, 1, 0, 0, "village.png", VillageType.COMMON);
+        village.setInteriorGenerator(3, (v, rand) -> v.setStructuresList(List.of(new StructureNode(0, 0, 0, "house.png"))));
+        registry.worldFor(idle).addVillage(village);
+        village.getStructuresList();
+        assertTrue(village.isInteriorGenerated());
+
+        Thread.sleep(20);
+        registry.worldFor(active);
+        assertFalse(village.isInteriorGenerated());
+        assertEquals(2, registry.size());
+        assertEquals(1L, registry.getMetrics().get("interiorsEvicted"));
+
+        // Coming back rebuilds the interior on the next visit.
+        assertEquals(1, registry.worldFor(idle).getVillages().get(0).getStructuresList().size());
+        assertTrue(village.isInteriorGenerated());
+    }
+}
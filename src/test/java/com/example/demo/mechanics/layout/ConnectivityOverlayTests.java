@@ -0,0 +1,155 @@
+package com.example.demo.mechanics.layout;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import com.example.demo.mechanics.pathfinding.DisjointSet;
+import com.example.demo.mechanics.pathfinding.StructureGraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link ConnectivityOverlay} adds exactly the links a village's roads are missing.
+ */
+class ConnectivityOverlayTests {
+
+    /**
+     * A village whose roads already connect every structure, in either direction, gets no links.
+     */
+    @Test
+    void connectedVillageGetsNoLinks() {
+        Random random = new Random(22);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 1 + random.nextInt(30);
+            List<StructureNode> nodes = nodes(n, random);
+            List<StructureRoad> roads = new ArrayList<>();
+            for (int i = 1; i < n; i++) {
+                StructureNode other = nodes.get(random.nextInt(i));
+                // Road direction does not matter for connectivity.
+                roads.add(random.nextBoolean() ? new StructureRoad(other, nodes.get(i), 1) : new StructureRoad(nodes.get(i), other, -3));
+            }
+            assertEquals(0, ConnectivityOverlay.compute(StructureGraphSnapshot.of(nodes, roads)).linkCount(), "trial " + trial);
+        }
+    }
+
+    /**
+     * A village in {@code c} parts gets {@code c - 1} links that join every part, as short in total
+     * as a minimum spanning tree over the closest pair of structures between each two parts.
+     */
+    @Test
+    void villageInPartsGetsOneLinkPerMissingJoin() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + random.nextInt(30);
+            int parts = 1 + random.nextInt(n);
+            List<StructureNode> nodes = nodes(n, random);
+            int[] part = new int[n];
+            List<StructureRoad> roads = new ArrayList<>();
+            List<List<Integer>> members = new ArrayList<>();
+            for (int p = 0; p < parts; p++) {
+                members.add(new ArrayList<>());
+            }
+            for (int i = 0; i < n; i++) {
+                // The first structures open one part each, the rest join a random part by road.
+                part[i] = i < parts ? i : random.nextInt(parts);
+                List<Integer> same = members.get(part[i]);
+                if (!same.isEmpty()) {
+                    roads.add(new StructureRoad(nodes.get(same.get(random.nextInt(same.size()))), nodes.get(i), 1 + random.nextInt(9)));
+                }
+                same.add(i);
+            }
+
+            StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes, roads);
+            ConnectivityOverlay overlay = ConnectivityOverlay.compute(graph);
+            assertEquals(parts - 1, overlay.linkCount(), "trial " + trial);
+
+            DisjointSet joined = new DisjointSet(parts);
+            double linkLength = 0;
+            for (int link = 0; link < overlay.linkCount(); link++) {
+                int from = overlay.fromAt(link);
+                int to = overlay.toAt(link);
+                assertTrue(joined.union(part[from], part[to]), "trial " + trial + ": link inside a part or a cycle");
+                linkLength += distance(graph.nodeAt(from), graph.nodeAt(to));
+            }
+            assertEquals(1, joined.setCount(), "trial " + trial);
+            assertEquals(partTreeLength(nodes, part, parts), linkLength, 1e-9, "trial " + trial);
+        }
+    }
+
+    /**
+     * Computing the overlay never adds roads to the structures.
+     */
+    @Test
+    void computeLeavesTheRoadsAlone() {
+        List<StructureNode> nodes = nodes(6, new Random(24));
+        nodes.get(0).connectTo(nodes.get(1), 2);
+        nodes.get(2).connectTo(nodes.get(3), 2);
+        long version = nodes.get(0).getVersion();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(3, ConnectivityOverlay.compute(StructureGraphSnapshot.of(nodes)).linkCount());
+        }
+        assertEquals(1, nodes.get(0).getConnections().size());
+        assertTrue(nodes.get(4).getConnections().isEmpty());
+        assertTrue(nodes.get(4).getIncomingConnections().isEmpty());
+        assertEquals(version, nodes.get(0).getVersion());
+        assertFalse(nodes.stream().anyMatch(node -> node.getConnections().size() > 1));
+    }
+
+    private static List<StructureNode> nodes(int n, Random random) {
+        List<StructureNode> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new StructureNode(i, random.nextInt(500), random.nextInt(500), "house.png"));
+        }
+        return nodes;
+    }
+
+    /**
+     * Prim's algorithm over the parts, where two parts are as far apart as their closest structures.
+     */
+    private static double partTreeLength(List<StructureNode> nodes, int[] part, int parts) {
+        double[][] gap = new double[parts][parts];
+        for (double[] row : gap) {
+            Arrays.fill(row, Double.MAX_VALUE);
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = 0; j < nodes.size(); j++) {
+                if (part[i] != part[j]) {
+                    gap[part[i]][part[j]] = Math.min(gap[part[i]][part[j]], distance(nodes.get(i), nodes.get(j)));
+                }
+            }
+        }
+        boolean[] inTree = new boolean[parts];
+        double[] cost = new double[parts];
+        Arrays.fill(cost, Double.MAX_VALUE);
+        cost[0] = 0;
+        double total = 0;
+        for (int added = 0; added < parts; added++) {
+            int next = -1;
+            for (int p = 0; p < parts; p++) {
+                if (!inTree[p] && (next < 0 || cost[p] < cost[next])) {
+                    next = p;
+                }
+            }
+            inTree[next] = true;
+            total += cost[next];
+            for (int p = 0; p < parts; p++) {
+                if (!inTree[p]) {
+                    cost[p] = Math.min(cost[p], gap[next][p]);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static double distance(StructureNode a, StructureNode b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.mechanics.layout;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import com.example.demo.mechanics.pathfinding.StructureGraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link ForceLayout} is deterministic and spreads the structures out.
+ */
+class ForceLayoutTests {
+
+    /**
+     * The same graph, built twice from scratch, gets exactly the same layout.
+     */
+    @Test
+    void sameGraphGetsSameLayout() {
+        for (long seed = 0; seed < 20; seed++) {
+            StructureGraphSnapshot first = randomGraph(new Random(seed));
+            StructureGraphSnapshot second = randomGraph(new Random(seed));
+
+            ForceLayout.Result a = ForceLayout.compute(first);
+            ForceLayout.Result b = ForceLayout.compute(second);
+            assertEquals(a.getWidth(), b.getWidth());
+            assertEquals(a.getHeight(), b.getHeight());
+            for (int i = 0; i < first.nodeCount(); i++) {
+                assertEquals(a.getX(i), b.getX(i), "seed " + seed + " node " + i);
+                assertEquals(a.getY(i), b.getY(i), "seed " + seed + " node " + i);
+            }
+        }
+    }
+
+    /**
+     * The layout starts at 0, fits in its width and height, and pulls apart structures that were
+     * all stored at the same point.
+     */
+    @Test
+    void layoutIsNormalisedAndSpread() {
+        List<StructureNode> nodes = new ArrayList<>();
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            nodes.add(new StructureNode(i, 100, 100, "house.png"));
+            if (i > 0) {
+                roads.add(new StructureRoad(nodes.get(i - 1), nodes.get(i), 1));
+            }
+        }
+        ForceLayout.Result layout = ForceLayout.compute(StructureGraphSnapshot.of(nodes, roads));
+
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        for (int i = 0; i < nodes.size(); i++) {
+            minX = Math.min(minX, layout.getX(i));
+            minY = Math.min(minY, layout.getY(i));
+            assertTrue(layout.getX(i) <= layout.getWidth() && layout.getY(i) <= layout.getHeight());
+            for (int j = 0; j < i; j++) {
+                double distance = Math.hypot(layout.getX(i) - layout.getX(j), layout.getY(i) - layout.getY(j));
+                assertTrue(distance > ForceLayout.IDEAL_EDGE_LENGTH / 4, "nodes " + i + " and " + j + " overlap");
+            }
+        }
+        assertEquals(0, minX);
+        assertEquals(0, minY);
+    }
+
+    private static StructureGraphSnapshot randomGraph(Random random) {
+        int n = 2 + random.nextInt(30);
+        List<StructureNode> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new StructureNode(i, 50 + random.nextInt(250), 50 + random.nextInt(250), "house.png"));
+        }
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 0; i < n * 2; i++) {
+            roads.add(new StructureRoad(nodes.get(random.nextInt(n)), nodes.get(random.nextInt(n)), random.nextInt(15) - 5));
+        }
+        return StructureGraphSnapshot.of(nodes, roads);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.mechanics.pathfinding;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link AnimationStepCodec} output decodes back to the same steps, with a decoder
+ * that follows the documented format the same way the village page does.
+ */
+class AnimationStepCodecTests {
+
+    /**
+     * Random steps, including null node IDs, non-ASCII actions and weights at both ends of the
+     * int range, survive a round trip.
+     */
+    @Test
+    void roundTrip() {
+        Random random = new Random(20);
+        String[] actions = {"relax", "finalize", "visit", "négatif"};
+        for (int trial = 0; trial < 200; trial++) {
+            List<PathfindingStep> steps = new ArrayList<>();
+            int count = random.nextInt(300);
+            for (int i = 0; i < count; i++) {
+                String from = random.nextInt(10) == 0 ? null : String.valueOf(random.nextInt(200));
+                String to = random.nextInt(10) == 0 ? null : String.valueOf(random.nextInt(200));
+                int weight = switch (random.nextInt(4)) {
+                    case 0 -> Integer.MIN_VALUE;
+                    case 1 -> Integer.MAX_VALUE;
+                    default -> random.nextInt(41) - 20;
+                };
+                steps.add(new FloydWarshall.AnimationStep(actions[random.nextInt(actions.length)], from, to, weight));
+            }
+
+            List<String[]> decoded = decode(AnimationStepCodec.encode(steps));
+            assertEquals(steps.size(), decoded.size(), "trial " + trial);
+            for (int i = 0; i < steps.size(); i++) {
+                PathfindingStep step = steps.get(i);
+                assertEquals(step.getAction(), decoded.get(i)[0]);
+                assertEquals(step.getFrom(), decoded.get(i)[1]);
+                assertEquals(step.getTo(), decoded.get(i)[2]);
+                assertEquals(String.valueOf(step.getWeight()), decoded.get(i)[3]);
+            }
+        }
+    }
+
+    /**
+     * Small steps take four bytes each after the tables.
+     */
+    @Test
+    void smallStepsTakeFourBytes() {
+        List<PathfindingStep> steps = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            steps.add(new Dijkstra.AnimationStep("relax", "1", "2", i % 60 - 30));
+        }
+        // Version, one action ("relax"), two node IDs, the step count as a one-byte varint, then the steps.
+        int header = 1 + (1 + 1 + 5) + (1 + 2 + 2) + 1;
+        assertEquals(header + 100 * 4, AnimationStepCodec.encode(steps).length);
+    }
+
+    /**
+     * More than 256 distinct actions cannot be encoded as a one-byte opcode.
+     */
+    @Test
+    void rejectsTooManyActions() {
+        List<PathfindingStep> steps = new ArrayList<>();
+        for (int i = 0; i < 257; i++) {
+            steps.add(new Dijkstra.AnimationStep("action" + i, "0", "1", 0));
+        }
+        assertThrows(IllegalArgumentException.class, () -> AnimationStepCodec.encode(steps));
+    }
+
+    /**
+     * Decodes to {action, from, to, weight} string arrays.
+     */
+    private static List<String[]> decode(byte[] bytes) {
+        int[] position = {0};
+        assertEquals(AnimationStepCodec.VERSION, bytes[position[0]++]);
+        String[] actions = readStrings(bytes, position);
+        String[] nodes = readStrings(bytes, position);
+        int count = readVarint(bytes, position);
+        List<String[]> steps = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String action = actions[bytes[position[0]++] & 0xFF];
+            String from = nodes[readVarint(bytes, position)];
+            String to = nodes[readVarint(bytes, position)];
+            int zigzag = readVarint(bytes, position);
+            int weight = (zigzag >>> 1) ^ -(zigzag & 1);
+            steps.add(new String[]{action, from, to, String.valueOf(weight)});
+        }
+        assertEquals(bytes.length, position[0]);
+        return steps;
+    }
+
+    private static String[] readStrings(byte[] bytes, int[] position) {
+        String[] strings = new String[readVarint(bytes, position)];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readVarint(bytes, position);
+            if (length == 0) continue;
+            strings[i] = new String(bytes, position[0], length - 1, StandardCharsets.UTF_8);
+            position[0] += length - 1;
+        }
+        return strings;
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = bytes[position[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
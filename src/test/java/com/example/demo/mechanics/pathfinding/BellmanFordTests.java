@@ -0,0 +1,116 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the queue-based negative cycle search of {@link BellmanFord} against plain Bellman-Ford passes.
+ */
+class BellmanFordTests {
+
+    /**
+     * The queue-based search finds a cycle exactly when the plain passes do, and every cycle it
+     * returns is made of real roads with a negative total weight.
+     */
+    @Test
+    void queueSearchAgreesWithPlainPasses() {
+        Random random = new Random(3);
+        int withCycle = 0;
+        for (int trial = 0; trial < 500; trial++) {
+            StructureGraphSnapshot graph = randomGraph(random);
+            List<StructureNode> cycle = BellmanFord.findNegativeCycle(graph);
+            List<StructureNode> expected = BellmanFord.findNegativeCycleByPasses(graph);
+
+            assertEquals(!expected.isEmpty(), !cycle.isEmpty(), "trial " + trial);
+            if (!cycle.isEmpty()) {
+                assertNegativeCycle(graph, cycle);
+                assertNegativeCycle(graph, expected);
+                withCycle++;
+            }
+        }
+        // Both outcomes must actually be exercised.
+        assertTrue(withCycle > 50 && withCycle < 450, "graphs with a cycle: " + withCycle);
+    }
+
+    /**
+     * Running out of relaxation budget falls back to the plain passes instead of reporting no cycle.
+     */
+    @Test
+    void exhaustedBudgetFallsBackToPlainPasses() {
+        Random random = new Random(4);
+        for (int trial = 0; trial < 200; trial++) {
+            StructureGraphSnapshot graph = randomGraph(random);
+            boolean expected = !BellmanFord.findNegativeCycleByPasses(graph).isEmpty();
+            List<StructureNode> cycle = BellmanFord.findNegativeCycle(graph, 1);
+
+            assertEquals(expected, !cycle.isEmpty(), "trial " + trial);
+            if (!cycle.isEmpty()) {
+                assertNegativeCycle(graph, cycle);
+            }
+        }
+    }
+
+    /**
+     * A cycle that is only reachable from a node that is not the first one is still found.
+     */
+    @Test
+    void findsCycleAwayFromFirstNode() {
+        List<StructureNode> nodes = nodes(4);
+        List<StructureRoad> roads = List.of(
+                new StructureRoad(nodes.get(0), nodes.get(1), 5),
+                new StructureRoad(nodes.get(2), nodes.get(3), 2),
+                new StructureRoad(nodes.get(3), nodes.get(2), -3));
+        StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes, roads);
+
+        List<StructureNode> cycle = BellmanFord.findNegativeCycle(graph);
+        assertEquals(2, cycle.size());
+        assertNegativeCycle(graph, cycle);
+        assertTrue(BellmanFord.findNegativeCycle(StructureGraphSnapshot.of(nodes, roads.subList(0, 2))).isEmpty());
+    }
+
+    /**
+     * Checks that consecutive cycle nodes are joined by roads whose cheapest choice sums below zero.
+     */
+    private static void assertNegativeCycle(StructureGraphSnapshot graph, List<StructureNode> cycle) {
+        long total = 0;
+        for (int i = 0; i < cycle.size(); i++) {
+            int u = graph.indexOf(cycle.get(i).getId());
+            int v = graph.indexOf(cycle.get((i + 1) % cycle.size()).getId());
+            long cheapest = Long.MAX_VALUE;
+            for (int e = graph.rowStart(u); e < graph.rowEnd(u); e++) {
+                if (graph.targetAt(e) == v) {
+                    cheapest = Math.min(cheapest, graph.weightAt(e));
+                }
+            }
+            assertTrue(cheapest != Long.MAX_VALUE, "no road " + u + " -> " + v);
+            total += cheapest;
+        }
+        assertTrue(total < 0, "cycle weight " + total);
+    }
+
+    private static StructureGraphSnapshot randomGraph(Random random) {
+        int n = 1 + random.nextInt(20);
+        List<StructureNode> nodes = nodes(n);
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 0; i < n * 2; i++) {
+            roads.add(new StructureRoad(nodes.get(random.nextInt(n)), nodes.get(random.nextInt(n)), random.nextInt(30) - 4));
+        }
+        return StructureGraphSnapshot.of(nodes, roads);
+    }
+
+    private static List<StructureNode> nodes(int n) {
+        List<StructureNode> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new StructureNode(i, 0, 0, "house.png"));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the tiled {@link BlockedFloydWarshall} loop finds the same distances as the classic one.
+ */
+class BlockedFloydWarshallTests {
+
+    /**
+     * On graphs at and above the parallel threshold, including sizes that leave a partial last
+     * tile, both loops agree on every distance and the successor links walk real shortest paths.
+     */
+    @Test
+    void blockedMatchesClassic() {
+        Random random = new Random(5);
+        int[] sizes = {BlockedFloydWarshall.PARALLEL_THRESHOLD, BlockedFloydWarshall.PARALLEL_THRESHOLD + 37, 3 * BlockedFloydWarshall.BLOCK_SIZE};
+        for (int n : sizes) {
+            StructureGraphSnapshot graph = randomGraph(n, n * 3, random);
+            BlockedFloydWarshall.Result classic = BlockedFloydWarshall.compute(graph, false);
+            BlockedFloydWarshall.Result blocked = BlockedFloydWarshall.compute(graph, true);
+
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    assertEquals(classic.distance(i, j), blocked.distance(i, j), n + " nodes: " + i + " -> " + j);
+                    assertPathLength(blocked, i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * The public entry point picks the tiled loop from the threshold on, and the animation built
+     * from its distances skips the n³ visit trace there.
+     */
+    @Test
+    void largeGraphsAnimateOnlyFinalizeSteps() {
+        Random random = new Random(6);
+        StructureGraphSnapshot small = randomGraph(20, 60, random);
+        StructureGraphSnapshot large = randomGraph(BlockedFloydWarshall.PARALLEL_THRESHOLD, 400, random);
+
+        assertTrue(FloydWarshall.generateFloydWarshallAnimation(small).stream().anyMatch(step -> step.getAction().equals("visit")));
+        List<FloydWarshall.AnimationStep> steps = FloydWarshall.generateFloydWarshallAnimation(large);
+        assertTrue(!steps.isEmpty() && steps.stream().allMatch(step -> step.getAction().equals("finalize")));
+    }
+
+    /**
+     * A trace over the step budget is dropped as a whole, below the node threshold too, and the
+     * animation falls back to the "finalize" steps.
+     */
+    @Test
+    void longTracesAreDropped() {
+        // A chain relaxes every pair, far more than the budget at this size.
+        int n = BlockedFloydWarshall.PARALLEL_THRESHOLD - 1;
+        List<StructureNode> nodes = new ArrayList<>();
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new StructureNode(i, 0, 0, "house.png"));
+            if (i > 0) {
+                roads.add(new StructureRoad(nodes.get(i - 1), nodes.get(i), 1));
+            }
+        }
+        StructureGraphSnapshot chain = StructureGraphSnapshot.of(nodes, roads);
+
+        assertTrue(BlockedFloydWarshall.recordVisits(chain).isEmpty());
+        List<FloydWarshall.AnimationStep> steps = FloydWarshall.generateFloydWarshallAnimation(chain);
+        assertEquals(n - 1, steps.size());
+        assertTrue(steps.stream().allMatch(step -> step.getAction().equals("finalize")));
+
+        StructureGraphSnapshot small = randomGraph(20, 60, new Random(7));
+        List<FloydWarshall.AnimationStep> visits = BlockedFloydWarshall.recordVisits(small);
+        assertTrue(!visits.isEmpty() && visits.size() <= BlockedFloydWarshall.MAX_VISIT_STEPS);
+    }
+
+    /**
+     * Follows the successor links from i to j and checks that the road weights add up to the distance.
+     */
+    private static void assertPathLength(BlockedFloydWarshall.Result result, int i, int j) {
+        if (i == j || result.distance(i, j) == BlockedFloydWarshall.INFINITY) return;
+        long length = 0;
+        int u = i;
+        int hops = 0;
+        while (u != j) {
+            int v = result.nextHop(u, j);
+            assertTrue(v >= 0 && hops++ < result.getGraph().nodeCount(), "broken path " + i + " -> " + j);
+            length += result.distance(u, v);
+            u = v;
+        }
+        assertEquals(result.distance(i, j), length, "path " + i + " -> " + j);
+    }
+
+    /**
+     * A spanning path over all nodes plus random extra roads, so every node is connected.
+     */
+    private static StructureGraphSnapshot randomGraph(int n, int extraRoads, Random random) {
+        List<StructureNode> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new StructureNode(i, 0, 0, "house.png"));
+        }
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            roads.add(new StructureRoad(nodes.get(random.nextInt(i)), nodes.get(i), 1 + random.nextInt(50)));
+        }
+        for (int i = 0; i < extraRoads; i++) {
+            roads.add(new StructureRoad(nodes.get(random.nextInt(n)), nodes.get(random.nextInt(n)), 1 + random.nextInt(50)));
+        }
+        return StructureGraphSnapshot.of(nodes, roads);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the {@link DijkstraEngine#LINEAR} and {@link DijkstraEngine#BINARY_HEAP} engines
+ * agree on the shortest-path tree they finalize.
+ */
+class DijkstraEngineTests {
+
+    /**
+     * Both engines settle the same nodes at the same distances on random graphs.
+     */
+    @Test
+    void enginesAgreeOnRandomGraphs() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 300; trial++) {
+            int n = 1 + random.nextInt(30);
+            List<StructureNode> nodes = nodes(n);
+            List<StructureRoad> roads = randomRoads(nodes, random);
+            StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes, roads);
+            String start = String.valueOf(random.nextInt(n));
+
+            Map<String, Integer> linear = treeDistances(DijkstraEngine.LINEAR.generateAnimation(graph, start), start);
+            Map<String, Integer> heap = treeDistances(DijkstraEngine.BINARY_HEAP.generateAnimation(graph, start), start);
+            assertEquals(heap, linear, "trial " + trial);
+        }
+    }
+
+    /**
+     * The engines read the roads of the snapshot, not the current connections of its nodes.
+     */
+    @Test
+    void linearEngineUsesSnapshotRoads() {
+        List<StructureNode> nodes = nodes(3);
+        List<StructureRoad> roads = List.of(
+                new StructureRoad(nodes.get(0), nodes.get(1), 4),
+                new StructureRoad(nodes.get(1), nodes.get(2), 5));
+        StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes, roads);
+        // A connection added after the snapshot was taken must not be seen.
+        nodes.get(0).connectTo(nodes.get(2), 1);
+
+        Map<String, Integer> linear = treeDistances(DijkstraEngine.LINEAR.generateAnimation(graph, "0"), "0");
+        Map<String, Integer> heap = treeDistances(DijkstraEngine.BINARY_HEAP.generateAnimation(graph, "0"), "0");
+        assertEquals(Map.of("0", 0, "1", 4, "2", 9), linear);
+        assertEquals(linear, heap);
+    }
+
+    /**
+     * A start node that is only known from the roads is visited by both engines, and a start
+     * node that is nowhere in the graph gives no steps from either.
+     */
+    @Test
+    void enginesAgreeOnUnknownStart() {
+        List<StructureNode> nodes = nodes(3);
+        StructureNode outside = new StructureNode(9, 0, 0, "house.png");
+        List<StructureRoad> roads = List.of(
+                new StructureRoad(nodes.get(0), nodes.get(1), 3),
+                new StructureRoad(nodes.get(1), nodes.get(2), 4),
+                new StructureRoad(outside, nodes.get(0), 2));
+
+        for (DijkstraEngine engine : DijkstraEngine.values()) {
+            List<Dijkstra.AnimationStep> steps = engine.generateAnimation(nodes, roads, "9");
+            assertEquals(Map.of("9", 0, "0", 2, "1", 5, "2", 9), treeDistances(steps, "9"), engine.name());
+            assertEquals(List.of("9>0", "0>1", "1>2"), visits(steps), engine.name());
+
+            assertTrue(engine.generateAnimation(nodes, roads, "42").isEmpty(), engine.name());
+            assertTrue(engine.generateAnimation(nodes, roads, "start").isEmpty(), engine.name());
+            assertTrue(engine.generateAnimation(StructureGraphSnapshot.of(nodes, roads), "9").isEmpty(), engine.name());
+        }
+    }
+
+    /**
+     * With two roads between the same nodes, both engines finalize with the weight of the road
+     * that gave the shortest distance.
+     */
+    @Test
+    void enginesFinalizeWithTheShortestRoad() {
+        List<StructureNode> nodes = nodes(2);
+        List<StructureRoad> roads = List.of(
+                new StructureRoad(nodes.get(0), nodes.get(1), 8),
+                new StructureRoad(nodes.get(1), nodes.get(0), 3));
+
+        for (DijkstraEngine engine : DijkstraEngine.values()) {
+            assertEquals(Map.of("0", 0, "1", 3), treeDistances(engine.generateAnimation(nodes, roads, "0"), "0"), engine.name());
+        }
+    }
+
+    private static List<String> visits(List<Dijkstra.AnimationStep> steps) {
+        List<String> visits = new ArrayList<>();
+        for (Dijkstra.AnimationStep step : steps) {
+            if (step.getAction().equals("visit")) {
+                visits.add(step.getFrom() + ">" + step.getTo());
+            }
+        }
+        return visits;
+    }
+
+    private static List<StructureNode> nodes(int n) {
+        List<StructureNode> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new StructureNode(i, 0, 0, "house.png"));
+        }
+        return nodes;
+    }
+
+    /**
+     * Random roads with positive weights and at most one road per pair of nodes, so the finalize
+     * weight of a node is unambiguous for both engines.
+     */
+    private static List<StructureRoad> randomRoads(List<StructureNode> nodes, Random random) {
+        int n = nodes.size();
+        Set<Long> pairs = new HashSet<>();
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 0; i < n * 2; i++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if (a == b || !pairs.add((long) Math.min(a, b) * n + Math.max(a, b))) continue;
+            roads.add(new StructureRoad(nodes.get(a), nodes.get(b), 1 + random.nextInt(20)));
+        }
+        return roads;
+    }
+
+    /**
+     * Sums the finalize steps back to the start to get the distance of every settled node.
+     */
+    private static Map<String, Integer> treeDistances(List<Dijkstra.AnimationStep> steps, String start) {
+        Map<String, Dijkstra.AnimationStep> parent = new HashMap<>();
+        for (Dijkstra.AnimationStep step : steps) {
+            if (step.getAction().equals("finalize")) {
+                assertFalse(parent.containsKey(step.getTo()), "node finalized twice: " + step.getTo());
+                parent.put(step.getTo(), step);
+            }
+        }
+        Map<String, Integer> distances = new HashMap<>();
+        distances.put(start, 0);
+        for (String node : parent.keySet()) {
+            int distance = 0;
+            String current = node;
+            while (!current.equals(start)) {
+                Dijkstra.AnimationStep step = parent.get(current);
+                distance += step.getWeight();
+                current = step.getFrom();
+            }
+            distances.put(node, distance);
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.mechanics.pathfinding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link DisjointSet} against a plain array of set labels.
+ */
+class DisjointSetTests {
+
+    /**
+     * Random unions report merges, connectivity and the set count exactly like relabelling does.
+     */
+    @Test
+    void matchesRelabelling() {
+        Random random = new Random(12);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 1 + random.nextInt(50);
+            DisjointSet sets = new DisjointSet(n);
+            int[] label = new int[n];
+            int count = n;
+            for (int i = 0; i < n; i++) {
+                label[i] = i;
+            }
+
+            for (int op = 0; op < n * 2; op++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                boolean separate = label[a] != label[b];
+                assertEquals(separate, sets.union(a, b), "trial " + trial);
+                if (separate) {
+                    int old = label[b];
+                    for (int i = 0; i < n; i++) {
+                        if (label[i] == old) label[i] = label[a];
+                    }
+                    count--;
+                }
+                assertEquals(count, sets.setCount());
+
+                int c = random.nextInt(n);
+                int d = random.nextInt(n);
+                assertEquals(label[c] == label[d], sets.connected(c, d));
+            }
+        }
+    }
+
+    /**
+     * A long chain of unions neither recurses nor leaves elements apart.
+     */
+    @Test
+    void longChainStaysIterative() {
+        int n = 1_000_000;
+        DisjointSet sets = new DisjointSet(n);
+        for (int i = 1; i < n; i++) {
+            assertTrue(sets.union(i - 1, i));
+        }
+        assertEquals(1, sets.setCount());
+        assertTrue(sets.connected(0, n - 1));
+        assertFalse(sets.union(n - 1, 0));
+        assertEquals(sets.find(0), sets.find(n / 2));
+    }
+}
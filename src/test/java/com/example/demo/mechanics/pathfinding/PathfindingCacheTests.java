@@ -0,0 +1,129 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import com.example.demo.classes.villageClasses.Village;
+import com.example.demo.classes.villageClasses.VillageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link PathfindingCache} reuses results only for the version they were computed for.
+ */
+class PathfindingCacheTests {
+
+    /**
+     * A lookup at the stored version returns the stored value without computing; another
+     * version or a cleared cache computes again.
+     */
+    @Test
+    void hitsOnlyAtTheSameVersion() {
+        PathfindingCache cache = new PathfindingCache();
+        AtomicInteger computed = new AtomicInteger();
+
+        Object first = cache.get("allPairs", 5, () -> new Object[]{computed.incrementAndGet()});
+        assertSame(first, cache.get("allPairs", 5, () -> new Object[]{computed.incrementAndGet()}));
+        assertEquals(1, computed.get());
+
+        Object second = cache.get("allPairs", 6, () -> new Object[]{computed.incrementAndGet()});
+        assertNotSame(first, second);
+        assertEquals(2, computed.get());
+
+        // Keys are independent.
+        cache.get("layout", 6, () -> new Object[]{computed.incrementAndGet()});
+        assertSame(second, cache.get("allPairs", 6, () -> new Object[]{computed.incrementAndGet()}));
+        assertEquals(3, computed.get());
+
+        cache.clear();
+        assertNotSame(second, cache.get("allPairs", 6, () -> new Object[]{computed.incrementAndGet()}));
+        assertEquals(4, computed.get());
+    }
+
+    /**
+     * A village's cached graph is reused until a node's connections change through
+     * connectTo, setConnections or clearConnections.
+     */
+    @Test
+    void villageResultsMissAfterEachEdit() {
+        StructureNode a = new StructureNode(0, 0, 0, "house.png");
+        StructureNode b = new StructureNode(1, 10, 0, "house.png");
+        StructureNode c = new StructureNode(2, 20, 0, "house.png");
+        Village village = new Village("Village0", 0, 5, 0, 0, "village.png", VillageType.COMMON);
+        village.setStructuresList(new ArrayList<>(List.of(a, b, c)));
+        village.setStructureGraph(new ArrayList<>(List.of(a, b, c)));
+
+        StructureGraphSnapshot graph = village.getGraphSnapshot();
+        assertSame(graph, village.getGraphSnapshot());
+
+        a.connectTo(b, 4);
+        graph = assertRebuilt(village, graph, 1);
+
+        b.setConnections(List.of(new StructureRoad(b, c, 2), new StructureRoad(b, a, 1)));
+        graph = assertRebuilt(village, graph, 3);
+
+        a.clearConnections();
+        graph = assertRebuilt(village, graph, 2);
+        assertSame(graph, village.getGraphSnapshot());
+    }
+
+    /**
+     * Two threads that miss together both compute, and the value stored last is the one kept.
+     */
+    @Test
+    void lastWriteWinsUnderConcurrentPuts() throws Exception {
+        PathfindingCache cache = new PathfindingCache();
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch fastStored = new CountDownLatch(1);
+        Object slowValue = new Object();
+        Object fastValue = new Object();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> slow = pool.submit(() -> cache.get("overlay", 9, () -> {
+                slowStarted.countDown();
+                await(fastStored);
+                return slowValue;
+            }));
+            await(slowStarted);
+            Future<Object> fast = pool.submit(() -> {
+                Object value = cache.get("overlay", 9, () -> fastValue);
+                fastStored.countDown();
+                return value;
+            });
+
+            assertSame(fastValue, fast.get(5, TimeUnit.SECONDS));
+            assertSame(slowValue, slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+        assertSame(slowValue, cache.get("overlay", 9, Object::new));
+    }
+
+    private static StructureGraphSnapshot assertRebuilt(Village village, StructureGraphSnapshot old, int edges) {
+        StructureGraphSnapshot graph = village.getGraphSnapshot();
+        assertNotSame(old, graph);
+        assertEquals(edges, graph.edgeCount());
+        return graph;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.mechanics.pathfinding;
+
+import com.example.demo.classes.villageClasses.StructureNode;
+import com.example.demo.classes.villageClasses.StructureRoad;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link StructureGraphSnapshot} keeps exactly the roads it was built from, in order.
+ */
+class StructureGraphSnapshotTests {
+
+    /**
+     * Every row lists the roads leaving its node, in input order, with their weights.
+     */
+    @Test
+    void rowsMatchInputRoads() {
+        Random random = new Random(2);
+        for (int trial = 0; trial < 100; trial++) {
+            int n = 1 + random.nextInt(25);
+            List<StructureNode> nodes = nodes(n, 0);
+            List<StructureRoad> roads = randomRoads(nodes, random);
+            StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes, roads);
+
+            assertEquals(n, graph.nodeCount());
+            assertEquals(roads.size(), graph.edgeCount());
+            for (int u = 0; u < n; u++) {
+                List<int[]> expected = new ArrayList<>();
+                for (StructureRoad road : roads) {
+                    if (road.getFromStructure() == nodes.get(u)) {
+                        expected.add(new int[]{nodes.indexOf(road.getToStructure()), road.getWeight()});
+                    }
+                }
+                assertEquals(expected.size(), graph.rowEnd(u) - graph.rowStart(u), "row " + u);
+                for (int i = 0; i < expected.size(); i++) {
+                    int e = graph.rowStart(u) + i;
+                    assertEquals(expected.get(i)[0], graph.targetAt(e));
+                    assertEquals(expected.get(i)[1], graph.weightAt(e));
+                }
+            }
+        }
+    }
+
+    /**
+     * Building from the nodes alone reads their connection lists.
+     */
+    @Test
+    void ofNodesReadsConnections() {
+        List<StructureNode> nodes = nodes(3, 0);
+        nodes.get(0).connectTo(nodes.get(1), 3);
+        nodes.get(0).connectTo(nodes.get(2), 7);
+        nodes.get(2).connectTo(nodes.get(1), -2);
+
+        StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes);
+        assertEquals(3, graph.edgeCount());
+        assertEquals(2, graph.rowEnd(0) - graph.rowStart(0));
+        assertEquals(0, graph.rowEnd(1) - graph.rowStart(1));
+        assertEquals(1, graph.targetAt(graph.rowStart(2)));
+        assertEquals(-2, graph.weightAt(graph.rowStart(2)));
+        assertTrue(graph.hasNegativeEdge());
+    }
+
+    /**
+     * IDs map to dense indices both through the direct table and through the map used for sparse IDs.
+     */
+    @Test
+    void indexOfMapsIds() {
+        for (int firstId : new int[]{0, 1_000_000, -5}) {
+            List<StructureNode> nodes = nodes(4, firstId);
+            StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes, List.of());
+            for (int i = 0; i < nodes.size(); i++) {
+                assertEquals(i, graph.indexOf(nodes.get(i).getId()));
+                assertEquals(nodes.get(i).getId(), graph.idAt(i));
+                assertEquals(nodes.get(i), graph.nodeAt(i));
+            }
+            assertEquals(-1, graph.indexOf(firstId + 4));
+            assertEquals(-1, graph.indexOf(firstId - 1));
+        }
+    }
+
+    /**
+     * Roads that touch a node outside the snapshot are dropped.
+     */
+    @Test
+    void roadsToOutsideNodesAreDropped() {
+        List<StructureNode> nodes = nodes(2, 0);
+        StructureNode outside = new StructureNode(9, 0, 0, "house.png");
+        List<StructureRoad> roads = List.of(
+                new StructureRoad(nodes.get(0), outside, 1),
+                new StructureRoad(nodes.get(0), nodes.get(1), 2),
+                new StructureRoad(outside, nodes.get(1), 3));
+
+        StructureGraphSnapshot graph = StructureGraphSnapshot.of(nodes, roads);
+        assertEquals(1, graph.edgeCount());
+        assertEquals(1, graph.targetAt(graph.rowStart(0)));
+        assertEquals(2, graph.weightAt(graph.rowStart(0)));
+        assertFalse(graph.hasNegativeEdge());
+    }
+
+    /**
+     * The undirected view stores every road both ways, drops self-loops and is its own undirected view.
+     */
+    @Test
+    void undirectedStoresBothDirections() {
+        List<StructureNode> nodes = nodes(3, 0);
+        List<StructureRoad> roads = List.of(
+                new StructureRoad(nodes.get(0), nodes.get(1), 4),
+                new StructureRoad(nodes.get(2), nodes.get(1), 6),
+                new StructureRoad(nodes.get(2), nodes.get(2), 1));
+
+        StructureGraphSnapshot undirected = StructureGraphSnapshot.of(nodes, roads).undirected();
+        assertEquals(4, undirected.edgeCount());
+        assertEquals(List.of("1:4"), row(undirected, 0));
+        assertEquals(List.of("0:4", "2:6"), row(undirected, 1));
+        assertEquals(List.of("1:6"), row(undirected, 2));
+        assertTrue(undirected == undirected.undirected());
+    }
+
+    private static List<String> row(StructureGraphSnapshot graph, int u) {
+        List<String> row = new ArrayList<>();
+        for (int e = graph.rowStart(u); e < graph.rowEnd(u); e++) {
+            row.add(graph.targetAt(e) + ":" + graph.weightAt(e));
+        }
+        return row;
+    }
+
+    private static List<StructureNode> nodes(int n, int firstId) {
+        List<StructureNode> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add(new StructureNode(firstId + i, 0, 0, "house.png"));
+        }
+        return nodes;
+    }
+
+    private static List<StructureRoad> randomRoads(List<StructureNode> nodes, Random random) {
+        int n = nodes.size();
+        List<StructureRoad> roads = new ArrayList<>();
+        for (int i = 0; i < n * 2; i++) {
+            roads.add(new StructureRoad(nodes.get(random.nextInt(n)), nodes.get(random.nextInt(n)), random.nextInt(41) - 20));
+        }
+        return roads;
+    }
+}
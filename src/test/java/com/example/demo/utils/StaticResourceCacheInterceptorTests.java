@@ -0,0 +1,70 @@
+package com.example.demo.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks which static URLs {@link StaticResourceCacheInterceptor} lets browsers keep.
+ */
+class StaticResourceCacheInterceptorTests {
+
+    private final ResourceUrlProvider resourceUrls = new ResourceUrlProvider();
+    private final StaticResourceCacheInterceptor interceptor;
+
+    /**
+     * Serves the application's static files with content-hash versions, as the resource chain does.
+     */
+    StaticResourceCacheInterceptorTests() throws Exception {
+        VersionResourceResolver versions = new VersionResourceResolver().addContentVersionStrategy("/**");
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(new ClassPathResource("static/")));
+        handler.setResourceResolvers(List.of(versions, new PathResourceResolver()));
+        handler.afterPropertiesSet();
+        resourceUrls.setHandlerMap(Map.of("/**", handler));
+
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("resourceUrlProvider", resourceUrls);
+        interceptor = new StaticResourceCacheInterceptor(beans.getBeanProvider(ResourceUrlProvider.class));
+    }
+
+    private String cacheControl(String path, Object handler) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("GET", path), response, handler);
+        return response.getHeader("Cache-Control");
+    }
+
+    /**
+     * Only the URL carrying the file's current hash is cached long-term.
+     */
+    @Test
+    void onlyCurrentHashIsImmutable() {
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        String current = resourceUrls.getForLookupPath("/css/style.css");
+        assertNotEquals("/css/style.css", current);
+        assertEquals("max-age=31536000, public, immutable", cacheControl(current, handler));
+        assertEquals("no-cache", cacheControl("/css/style.css", handler));
+        assertEquals("no-cache", cacheControl("/css/style-ffffffffffffffffffffffffffffffff.css", handler));
+    }
+
+    /**
+     * Pages and other handlers keep whatever caching they set themselves.
+     */
+    @Test
+    void otherHandlersAreLeftAlone() {
+        assertNull(cacheControl(resourceUrls.getForLookupPath("/css/style.css"), new Object()));
+    }
+}